@@ -0,0 +1,326 @@
+package Graph;
+
+import Utilities.Randomness.RandomSource;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Immutable compressed sparse row (CSR) snapshot of a graph.
+ * The arcs leaving a vertex v are stored contiguously in the slots [offsets[v], offsets[v+1])
+ * of the targets and arcs arrays. Each slot holds the encoded arc (edgeId * 2 + direction, see {@link EdgeTable}),
+ * so both arcs of a non-directed edge share the same edge id.
+ * The vertices are always [0, order()). A snapshot of a {@link Graph} whose active vertices are not exactly
+ * [0, upperBound) numbers them densely in increasing order, and keeps the label of every vertex, its id in the Graph.
+ */
+public class CsrGraph implements ReadOnlyGraph {
+
+    private final int order;
+    private final int[] offsets;
+    private final int[] targets;
+    private final int[] arcs;
+    private final EdgeTable edgeTable;
+    // the label of every vertex in increasing order, null if every vertex is its own label
+    private final int[] labels;
+    // true if every edge has its two arcs, false if the snapshot has directed edges
+    private final boolean symmetric;
+
+    CsrGraph(int order, int[] offsets, int[] targets, int[] arcs, EdgeTable edgeTable) {
+        this(order, offsets, targets, arcs, edgeTable, null);
+    }
+
+    CsrGraph(int order, int[] offsets, int[] targets, int[] arcs, EdgeTable edgeTable, int[] labels) {
+        this.order = order;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.arcs = arcs;
+        this.edgeTable = edgeTable;
+        this.labels = labels;
+        this.symmetric = arcs.length == 2 * edgeTable.size();
+    }
+
+    /**
+     * Builds a snapshot from a list of edges, every edge being considered as non-directed.
+     * The edge at index i of the iteration order receives the id i.
+     *
+     * @param order the number of vertices, every extremity must be in [0, order).
+     * @param edges the edges of the graph.
+     * @return the CSR snapshot of the graph.
+     */
+    public static CsrGraph fromEdges(int order, Iterable<? extends Edge> edges) {
+        int edgeCount = 0;
+        for (Edge ignored : edges) edgeCount++;
+
+        int[] sources = new int[edgeCount];
+        int[] destinations = new int[edgeCount];
+        double[] weights = new double[edgeCount];
+        int edgeId = 0;
+        for (Edge edge : edges) {
+            sources[edgeId] = edge.getSource();
+            destinations[edgeId] = edge.getDestination();
+            weights[edgeId++] = edge instanceof NonDirectedEdge ? ((NonDirectedEdge) edge).getWeight() : 0;
+        }
+        return fromEdgeTable(order, new EdgeTable(sources, destinations, weights));
+    }
+
+    /**
+     * Builds a snapshot in which every edge of the table is non-directed.
+     *
+     * @param order the number of vertices, every extremity must be in [0, order).
+     * @param edgeTable the edges of the graph.
+     * @return the CSR snapshot of the graph.
+     */
+    public static CsrGraph fromEdgeTable(int order, EdgeTable edgeTable) {
+        return fromEdgeTable(order, edgeTable, null);
+    }
+
+    /**
+     * Builds a snapshot in which every edge of the table is non-directed, with the given vertex labels.
+     *
+     * @param order the number of vertices, every extremity must be in [0, order).
+     * @param edgeTable the edges of the graph.
+     * @param labels the label of every vertex, null if every vertex is its own label.
+     * @return the CSR snapshot of the graph.
+     */
+    private static CsrGraph fromEdgeTable(int order, EdgeTable edgeTable, int[] labels) {
+        int[] offsets = new int[order + 1];
+        for (int edgeId = 0; edgeId < edgeTable.size(); edgeId++) {
+            offsets[edgeTable.source(edgeId) + 1]++;
+            offsets[edgeTable.destination(edgeId) + 1]++;
+        }
+        for (int vertex = 0; vertex < order; vertex++) {
+            offsets[vertex + 1] += offsets[vertex];
+        }
+
+        int[] targets = new int[offsets[order]];
+        int[] arcs = new int[offsets[order]];
+        int[] nextSlot = Arrays.copyOf(offsets, order);
+        for (int edgeId = 0; edgeId < edgeTable.size(); edgeId++) {
+            int source = edgeTable.source(edgeId);
+            int destination = edgeTable.destination(edgeId);
+            targets[nextSlot[source]] = destination;
+            arcs[nextSlot[source]++] = EdgeTable.arc(edgeId, false);
+            targets[nextSlot[destination]] = source;
+            arcs[nextSlot[destination]++] = EdgeTable.arc(edgeId, true);
+        }
+        return new CsrGraph(order, offsets, targets, arcs, edgeTable, labels);
+    }
+
+    /**
+     * Builds the spanning subgraph made of the given edges, on the same vertices.
+     * The edge at index i of the list receives the id i in the subgraph, and the vertices keep their labels.
+     *
+     * @param edgeIds the ids of the kept edges.
+     * @return the CSR snapshot of the subgraph.
+     */
+    public CsrGraph spanningSubgraph(int[] edgeIds) {
+        return fromEdgeTable(getUpperBound(), getEdgeTable().select(edgeIds), labels);
+    }
+
+    /**
+     * Returns the label of a vertex, its id in the frozen {@link Graph}.
+     *
+     * @param vertex the vertex, in [0, order()).
+     * @return the label of the vertex.
+     */
+    public int label(int vertex) {
+        return labels == null ? vertex : labels[vertex];
+    }
+
+    /**
+     * Returns the vertex with the given label, by binary search since the labels are increasing.
+     *
+     * @param label the id of a vertex in the frozen {@link Graph}.
+     * @return the vertex with this label, or -1 if no vertex has this label.
+     */
+    public int vertexOfLabel(int label) {
+        if (labels == null) return label >= 0 && label < order ? label : -1;
+        int vertex = Arrays.binarySearch(labels, label);
+        return vertex >= 0 ? vertex : -1;
+    }
+
+    /**
+     * Creates non-directed edge objects for the edges of a table on the vertices of this snapshot,
+     * with their extremities replaced by their labels.
+     *
+     * @param edges the edges, such as a spanning tree sampled on this snapshot.
+     * @return a list of new non-directed edges between labels, in edge id order.
+     */
+    public ArrayList<NonDirectedEdge> toLabeledEdges(EdgeTable edges) {
+        ArrayList<NonDirectedEdge> labeledEdges = new ArrayList<>(edges.size());
+        for (int edgeId = 0; edgeId < edges.size(); edgeId++) {
+            labeledEdges.add(new NonDirectedEdge(label(edges.source(edgeId)), label(edges.destination(edgeId)), edges.weight(edgeId)));
+        }
+        return labeledEdges;
+    }
+
+    /**
+     * Creates a directed edge object for an encoded arc of this snapshot, between the labels of its extremities.
+     *
+     * @param arc the encoded arc.
+     * @return a new directed edge with the same orientation as the arc.
+     */
+    public DirectedEdge toLabeledDirectedEdge(int arc) {
+        int edgeId = EdgeTable.edgeOfArc(arc);
+        NonDirectedEdge support = new NonDirectedEdge(label(edgeSource(edgeId)), label(edgeDestination(edgeId)), getEdgeTable().weight(edgeId));
+        return new DirectedEdge(support, EdgeTable.isReversed(arc));
+    }
+
+    /**
+     * Returns the number of arcs leaving the given vertex.
+     *
+     * @param vertex the vertex.
+     * @return the out-degree of the vertex.
+     */
+    @Override
+    public int degree(int vertex) {
+        return offsets[vertex + 1] - offsets[vertex];
+    }
+
+    /**
+     * Returns the destination of the index-th arc leaving the given vertex.
+     *
+     * @param vertex the source vertex.
+     * @param index the index of the arc, in [0, degree(vertex)).
+     * @return the neighbor reached by the arc.
+     */
+    @Override
+    public int neighbor(int vertex, int index) {
+        return targets[offsets[vertex] + index];
+    }
+
+    /**
+     * Returns the encoded index-th arc leaving the given vertex.
+     *
+     * @param vertex the source vertex.
+     * @param index the index of the arc, in [0, degree(vertex)).
+     * @return the encoded arc.
+     */
+    public int arc(int vertex, int index) {
+        return arcs[offsets[vertex] + index];
+    }
+
+    /**
+     * Returns the id of the edge supporting the index-th arc leaving the given vertex.
+     *
+     * @param vertex the source vertex.
+     * @param index the index of the arc, in [0, degree(vertex)).
+     * @return the id of the supporting edge.
+     */
+    public int edgeId(int vertex, int index) {
+        return EdgeTable.edgeOfArc(arc(vertex, index));
+    }
+
+    /**
+     * Returns the first slot of the arcs leaving the given vertex.
+     * The arcs of the vertex are the slots [firstSlot(vertex), firstSlot(vertex) + degree(vertex)).
+     *
+     * @param vertex the source vertex.
+     * @return the slot of its first arc.
+     */
+    public int firstSlot(int vertex) {
+        return offsets[vertex];
+    }
+
+    /**
+     * Returns the destination of the arc stored in the given slot.
+     *
+     * @param slot the slot of the arc.
+     * @return the neighbor reached by the arc.
+     */
+    public int slotTarget(int slot) {
+        return targets[slot];
+    }
+
+    /**
+     * Returns the encoded arc stored in the given slot.
+     *
+     * @param slot the slot of the arc.
+     * @return the encoded arc.
+     */
+    public int slotArc(int slot) {
+        return arcs[slot];
+    }
+
+    /**
+     * Returns the slot of an arc chosen uniformly at random among the arcs leaving the given vertex.
+     *
+     * @param vertex the source vertex, which must have at least one arc.
+     * @param random the random source.
+     * @return the slot of a random arc leaving the vertex.
+     */
+    public int randomSlot(int vertex, RandomSource random) {
+        return offsets[vertex] + random.nextInt(degree(vertex));
+    }
+
+    /**
+     * Returns the source of the edge with the given id.
+     *
+     * @param edgeId the id of the edge.
+     * @return the source vertex of the edge.
+     */
+    public int edgeSource(int edgeId) {
+        return getEdgeTable().source(edgeId);
+    }
+
+    /**
+     * Returns the destination of the edge with the given id.
+     *
+     * @param edgeId the id of the edge.
+     * @return the destination vertex of the edge.
+     */
+    public int edgeDestination(int edgeId) {
+        return getEdgeTable().destination(edgeId);
+    }
+
+    /**
+     * Creates a non-directed edge object for the edge with the given id.
+     *
+     * @param edgeId the id of the edge.
+     * @return a new non-directed edge with the same extremities and weight.
+     */
+    public NonDirectedEdge edge(int edgeId) {
+        return getEdgeTable().toNonDirectedEdge(edgeId);
+    }
+
+    /**
+     * Creates a directed edge object for the index-th arc leaving the given vertex,
+     * oriented from this vertex toward its neighbor.
+     *
+     * @param vertex the source vertex.
+     * @param index the index of the arc, in [0, degree(vertex)).
+     * @return a new directed edge leaving the vertex.
+     */
+    public DirectedEdge directedEdge(int vertex, int index) {
+        return getEdgeTable().toDirectedEdge(arc(vertex, index));
+    }
+
+    @Override
+    public EdgeTable getEdgeTable() {
+        return edgeTable;
+    }
+
+    @Override
+    public int order() {
+        return order;
+    }
+
+    public int edgeCardinality() {
+        return edgeTable.size();
+    }
+
+    public int getUpperBound() {
+        return offsets.length - 1;
+    }
+
+    /**
+     * Checks if every edge of the snapshot can be traversed both ways.
+     * A directed edge of a frozen {@link Graph} is stored only as its arc leaving its source.
+     *
+     * @return true if every edge has its two arcs.
+     */
+    @Override
+    public boolean isSymmetric() {
+        return symmetric;
+    }
+}
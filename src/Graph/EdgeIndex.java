@@ -0,0 +1,151 @@
+package Graph;
+
+import java.util.Arrays;
+
+/**
+ * Set of vertex pairs stored in an open-addressing hash table of primitive long keys.
+ * A pair is stored under its canonical key (min, max), so (u, v) and (v, u) are the same entry.
+ * Collisions are resolved by linear probing and removals use backward shifting, so there are no tombstones.
+ */
+class EdgeIndex {
+
+    private static final long EMPTY = -1L;
+    private static final int MINIMUM_CAPACITY = 16;
+
+    private long[] keys;
+    private int size;
+
+    EdgeIndex(int expectedSize) {
+        this.keys = newTable(capacityFor(expectedSize));
+        this.size = 0;
+    }
+
+    /**
+     * Checks if the pair of vertices is present in the index.
+     *
+     * @param first one extremity.
+     * @param second the other extremity.
+     * @return true if the pair is present, false otherwise.
+     */
+    boolean contains(int first, int second) {
+        long key = key(first, second);
+        int mask = keys.length - 1;
+        for (int slot = slot(key, mask); keys[slot] != EMPTY; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Adds the pair of vertices to the index if it is not already present.
+     *
+     * @param first one extremity.
+     * @param second the other extremity.
+     * @return true if the pair was added, false if it was already present.
+     */
+    boolean add(int first, int second) {
+        if (2 * (size + 1) > keys.length) {
+            resize(2 * keys.length);
+        }
+        long key = key(first, second);
+        int mask = keys.length - 1;
+        int slot = slot(key, mask);
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == key) return false;
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        size++;
+        return true;
+    }
+
+    /**
+     * Removes the pair of vertices from the index, shifting back the following keys of its probe sequence.
+     *
+     * @param first one extremity.
+     * @param second the other extremity.
+     * @return true if the pair was removed, false if it was not present.
+     */
+    boolean remove(int first, int second) {
+        long key = key(first, second);
+        int mask = keys.length - 1;
+        int slot = slot(key, mask);
+        while (keys[slot] != key) {
+            if (keys[slot] == EMPTY) return false;
+            slot = (slot + 1) & mask;
+        }
+
+        int hole = slot;
+        for (int next = (hole + 1) & mask; keys[next] != EMPTY; next = (next + 1) & mask) {
+            int home = slot(keys[next], mask);
+            // the key at next can fill the hole if its home slot is not cyclically in (hole, next]
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                keys[hole] = keys[next];
+                hole = next;
+            }
+        }
+        keys[hole] = EMPTY;
+        size--;
+        return true;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Rehashes every key into a new table of the given capacity.
+     *
+     * @param capacity the new capacity, a power of two.
+     */
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        keys = newTable(capacity);
+        int mask = capacity - 1;
+        for (long key : oldKeys) {
+            if (key == EMPTY) continue;
+            int slot = slot(key, mask);
+            while (keys[slot] != EMPTY) slot = (slot + 1) & mask;
+            keys[slot] = key;
+        }
+    }
+
+    /**
+     * Packs the canonical (min, max) pair of extremities into a non-negative long.
+     *
+     * @param first one extremity.
+     * @param second the other extremity.
+     * @return the key of the pair.
+     */
+    private static long key(int first, int second) {
+        return ((long) Math.min(first, second) << 32) | Math.max(first, second);
+    }
+
+    /**
+     * Returns the home slot of a key, after mixing its bits (finalizer of MurmurHash3).
+     *
+     * @param key the key.
+     * @param mask the capacity of the table minus one.
+     * @return the home slot of the key.
+     */
+    private static int slot(long key, int mask) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return (int) key & mask;
+    }
+
+    private static int capacityFor(int expectedSize) {
+        int capacity = MINIMUM_CAPACITY;
+        while (capacity < 2 * expectedSize) capacity <<= 1;
+        return capacity;
+    }
+
+    private static long[] newTable(int capacity) {
+        long[] table = new long[capacity];
+        Arrays.fill(table, EMPTY);
+        return table;
+    }
+}
@@ -0,0 +1,186 @@
+package Graph;
+
+import java.util.ArrayList;
+
+/**
+ * Struct-of-arrays table of non-directed edges, addressed by integer edge id.
+ * Each edge can be traversed as two arcs, encoded as edgeId * 2 + direction:
+ * direction 0 goes from the source to the destination of the edge, direction 1 the other way.
+ */
+public class EdgeTable {
+
+    private final int[] sources;
+    private final int[] destinations;
+    private final double[] weights;
+
+    public EdgeTable(int[] sources, int[] destinations, double[] weights) {
+        this.sources = sources;
+        this.destinations = destinations;
+        this.weights = weights;
+    }
+
+    /**
+     * Creates a table whose edges all have a null weight.
+     *
+     * @param sources the source of every edge, indexed by edge id.
+     * @param destinations the destination of every edge, indexed by edge id.
+     * @return the edge table.
+     */
+    public static EdgeTable unweighted(int[] sources, int[] destinations) {
+        return new EdgeTable(sources, destinations, new double[sources.length]);
+    }
+
+    /**
+     * Encodes the arc traversing an edge in the given direction.
+     *
+     * @param edgeId the id of the edge.
+     * @param reversed true to go from the destination to the source of the edge.
+     * @return the encoded arc.
+     */
+    public static int arc(int edgeId, boolean reversed) {
+        return 2 * edgeId + (reversed ? 1 : 0);
+    }
+
+    /**
+     * Returns the id of the edge supporting an encoded arc.
+     *
+     * @param arc the encoded arc.
+     * @return the id of its edge.
+     */
+    public static int edgeOfArc(int arc) {
+        return arc >>> 1;
+    }
+
+    /**
+     * Checks if an encoded arc goes from the destination to the source of its edge.
+     *
+     * @param arc the encoded arc.
+     * @return true if the arc is reversed.
+     */
+    public static boolean isReversed(int arc) {
+        return (arc & 1) == 1;
+    }
+
+    /**
+     * Returns the arc traversing the same edge in the other direction.
+     *
+     * @param arc the encoded arc.
+     * @return the encoded opposite arc.
+     */
+    public static int reverse(int arc) {
+        return arc ^ 1;
+    }
+
+    /**
+     * Returns the vertex an encoded arc leaves from.
+     *
+     * @param arc the encoded arc.
+     * @return the source of the arc.
+     */
+    public int arcSource(int arc) {
+        return isReversed(arc) ? destinations[edgeOfArc(arc)] : sources[edgeOfArc(arc)];
+    }
+
+    /**
+     * Returns the vertex an encoded arc goes to.
+     *
+     * @param arc the encoded arc.
+     * @return the destination of the arc.
+     */
+    public int arcDestination(int arc) {
+        return isReversed(arc) ? sources[edgeOfArc(arc)] : destinations[edgeOfArc(arc)];
+    }
+
+    /**
+     * Creates a table with the same edges and new weights.
+     * The extremity arrays are shared, not copied.
+     *
+     * @param weights the weight of every edge, indexed by edge id.
+     * @return the re-weighted table.
+     */
+    public EdgeTable withWeights(double[] weights) {
+        return new EdgeTable(sources, destinations, weights);
+    }
+
+    /**
+     * Creates a table made of the given edges of this table.
+     * The edge at index i of the list receives the id i in the new table.
+     *
+     * @param edgeIds the ids of the kept edges.
+     * @return the new edge table.
+     */
+    public EdgeTable select(int[] edgeIds) {
+        int[] selectedSources = new int[edgeIds.length];
+        int[] selectedDestinations = new int[edgeIds.length];
+        double[] selectedWeights = new double[edgeIds.length];
+        for (int index = 0; index < edgeIds.length; index++) {
+            selectedSources[index] = source(edgeIds[index]);
+            selectedDestinations[index] = destination(edgeIds[index]);
+            selectedWeights[index] = weight(edgeIds[index]);
+        }
+        return new EdgeTable(selectedSources, selectedDestinations, selectedWeights);
+    }
+
+    /**
+     * Creates a non-directed edge object for the edge with the given id.
+     *
+     * @param edgeId the id of the edge.
+     * @return a new non-directed edge with the same extremities and weight.
+     */
+    public NonDirectedEdge toNonDirectedEdge(int edgeId) {
+        return new NonDirectedEdge(source(edgeId), destination(edgeId), weight(edgeId));
+    }
+
+    /**
+     * Creates non-directed edge objects for a list of edge ids.
+     *
+     * @param edgeIds the ids of the edges.
+     * @return a list of new non-directed edges, in the same order.
+     */
+    public ArrayList<NonDirectedEdge> toNonDirectedEdges(int[] edgeIds) {
+        ArrayList<NonDirectedEdge> edges = new ArrayList<>(edgeIds.length);
+        for (int edgeId : edgeIds) {
+            edges.add(toNonDirectedEdge(edgeId));
+        }
+        return edges;
+    }
+
+    /**
+     * Creates non-directed edge objects for all the edges of the table.
+     *
+     * @return a list of new non-directed edges, in edge id order.
+     */
+    public ArrayList<NonDirectedEdge> toNonDirectedEdges() {
+        ArrayList<NonDirectedEdge> edges = new ArrayList<>(size());
+        for (int edgeId = 0; edgeId < size(); edgeId++) {
+            edges.add(toNonDirectedEdge(edgeId));
+        }
+        return edges;
+    }
+
+    /**
+     * Creates a directed edge object for an encoded arc.
+     *
+     * @param arc the encoded arc.
+     * @return a new directed edge with the same orientation as the arc.
+     */
+    public DirectedEdge toDirectedEdge(int arc) {
+        return new DirectedEdge(toNonDirectedEdge(edgeOfArc(arc)), isReversed(arc));
+    }
+
+    public int source(int edgeId) {
+        return sources[edgeId];
+    }
+
+    public int destination(int edgeId) {
+        return destinations[edgeId];
+    }
+
+    public double weight(int edgeId) {
+        return weights[edgeId];
+    }
+
+    public int size() {
+        return sources.length;
+    }
+}
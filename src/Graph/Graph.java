@@ -1,5 +1,7 @@
 package Graph;
 
+import Utilities.Randomness.RandomSource;
+
 import java.util.*;
 
 public class Graph {
@@ -8,17 +10,28 @@ public class Graph {
     private int order;
     private int edgeCardinality;
 
-    private final Map<Integer,List<NonDirectedEdge>> incidence;
-    private final Map<Integer,List<DirectedEdge>> inIncidence;
-    private final Map<Integer,List<DirectedEdge>> outIncidence;
+    // Incidence lists indexed by vertex, null for inactive vertices.
+    private final List<List<NonDirectedEdge>> incidence;
+    private final List<List<DirectedEdge>> inIncidence;
+    private final List<List<DirectedEdge>> outIncidence;
+    // For every edge of an incidence list, its slot in the incidence list of its other extremity:
+    // incidence to incidence, outgoing to incoming and incoming to outgoing.
+    private final List<SlotList> incidenceTwins;
+    private final List<SlotList> inIncidenceTwins;
+    private final List<SlotList> outIncidenceTwins;
+    private final EdgeIndex edgeIndex;
 
     public Graph(int upperBound) {
         this.upperBound = upperBound;
         this.order = 0;
         this.edgeCardinality = 0;
-        this.incidence = new HashMap<>();
-        this.inIncidence = new HashMap<>();
-        this.outIncidence = new HashMap<>();
+        this.incidence = new ArrayList<>(upperBound);
+        this.inIncidence = new ArrayList<>(upperBound);
+        this.outIncidence = new ArrayList<>(upperBound);
+        this.incidenceTwins = new ArrayList<>(upperBound);
+        this.inIncidenceTwins = new ArrayList<>(upperBound);
+        this.outIncidenceTwins = new ArrayList<>(upperBound);
+        this.edgeIndex = new EdgeIndex(upperBound);
 
         initializeIncidences();
     }
@@ -28,9 +41,12 @@ public class Graph {
      */
     private void initializeIncidences() {
         for (int index=0; index < upperBound(); index++) {
-            getIncidence().put(index, null);
-            getInIncidence().put(index, null);
-            getOutIncidence().put(index, null);
+            getIncidence().add(null);
+            getInIncidence().add(null);
+            getOutIncidence().add(null);
+            getIncidenceTwins().add(null);
+            getInIncidenceTwins().add(null);
+            getOutIncidenceTwins().add(null);
         }
     }
 
@@ -58,86 +74,129 @@ public class Graph {
 
     /**
      * Adds a new vertex to the graph, initializing its incidence, incoming, and outgoing lists.
+     * The lists are array-backed so that the edges of a vertex can be accessed by index.
      *
      * @param vertex the vertex to add.
      */
     private void addVertex(int vertex) {
-        getIncidence().put(vertex, new LinkedList<>());
-        getInIncidence().put(vertex, new LinkedList<>());
-        getOutIncidence().put(vertex, new LinkedList<>());
+        getIncidence().set(vertex, new ArrayList<>());
+        getInIncidence().set(vertex, new ArrayList<>());
+        getOutIncidence().set(vertex, new ArrayList<>());
+        getIncidenceTwins().set(vertex, new SlotList());
+        getInIncidenceTwins().set(vertex, new SlotList());
+        getOutIncidenceTwins().set(vertex, new SlotList());
         incrementOrder();
     }
 
     /**
      * Removes the specified vertex and all its associated edges from the graph.
+     * Every edge knows its slot in the incidence list of its other extremity,
+     * so the cost is proportional to the degree of the vertex.
      * Updates the edge cardinality and graph order accordingly.
      *
      * @param vertex the vertex to delete.
      */
     public void deleteVertex(int vertex) {
-        int numberOfEdgesToRemove = getIncidence().get(vertex).size();
+        int numberOfEdgesToRemove = 0;
 
-        removeEdges(convertIncidenceMap(getIncidence()), vertex);
-        removeEdges(convertIncidenceMap(getInIncidence()), vertex);
-        removeEdges(convertIncidenceMap(getOutIncidence()), vertex);
+        List<NonDirectedEdge> edges = getIncidence().get(vertex);
+        for (int index = 0; index < edges.size(); index++) {
+            NonDirectedEdge edge = edges.get(index);
+            if (getEdgeIndex().remove(edge.getSource(), edge.getDestination())) {
+                numberOfEdgesToRemove++;
+            }
+            removeFromNeighbor(getIncidence(), getIncidenceTwins(), getIncidenceTwins(),
+                    edge.oppositeExtremity(vertex), vertex, getIncidenceTwins().get(vertex).get(index));
+        }
+        List<DirectedEdge> outgoingEdges = getOutIncidence().get(vertex);
+        for (int index = 0; index < outgoingEdges.size(); index++) {
+            removeFromNeighbor(getInIncidence(), getInIncidenceTwins(), getOutIncidenceTwins(),
+                    outgoingEdges.get(index).getDestination(), vertex, getOutIncidenceTwins().get(vertex).get(index));
+        }
+        List<DirectedEdge> incomingEdges = getInIncidence().get(vertex);
+        for (int index = 0; index < incomingEdges.size(); index++) {
+            removeFromNeighbor(getOutIncidence(), getOutIncidenceTwins(), getInIncidenceTwins(),
+                    incomingEdges.get(index).getSource(), vertex, getInIncidenceTwins().get(vertex).get(index));
+        }
 
-        getIncidence().remove(vertex);
-        getInIncidence().remove(vertex);
-        getOutIncidence().remove(vertex);
+        getIncidence().set(vertex, null);
+        getInIncidence().set(vertex, null);
+        getOutIncidence().set(vertex, null);
+        getIncidenceTwins().set(vertex, null);
+        getInIncidenceTwins().set(vertex, null);
+        getOutIncidenceTwins().set(vertex, null);
         decreaseEdgeCardinality(numberOfEdgesToRemove);
         decrementOrder();
     }
 
     /**
-     * Converts a map of incidence lists from a specific edge type to a map of general edge lists.
+     * Removes an edge from the incidence list of a neighbor of a deleted vertex, at its known slot.
+     * The edge is replaced by the last edge of the list (swap-remove), so the list is not shifted
+     * but the order of the remaining edges changes. The twin of the moved edge, in the list of its other extremity,
+     * is told its new slot.
      *
-     * @param incidence the map of incidence lists with a specific edge type.
-     * @param <T> the type of edges (subclass of Edge).
-     * @return a new map where each list is of type List<Edge>.
+     * @param incidence the incidence lists, indexed by vertex.
+     * @param twins the slots of the twins of the edges of these lists, indexed by vertex.
+     * @param oppositeTwins the slots of the twins of the edges of the lists holding the twins.
+     * @param neighbor the neighbor whose incidence list is updated.
+     * @param vertex the deleted vertex.
+     * @param slot the slot of the edge in the list of the neighbor.
+     * @param <T> the type of edges.
      */
-    private <T extends Edge> Map<Integer, List<Edge>> convertIncidenceMap(Map<Integer, List<T>> incidence) {
-        Map<Integer, List<Edge>> incidenceAsList = new HashMap<>();
-
-        incidence.forEach((key, value) -> {
-            if (value != null) {
-                incidenceAsList.put(key, new LinkedList<>(value));
-            } else {
-                incidenceAsList.put(key, null);
-            }
-        });
-        return incidenceAsList;
+    private <T extends Edge> void removeFromNeighbor(List<List<T>> incidence, List<SlotList> twins,
+                                                     List<SlotList> oppositeTwins, int neighbor, int vertex, int slot) {
+        List<T> edges = incidence.get(neighbor);
+        if (neighbor == vertex || edges == null) return;
+
+        SlotList neighborTwins = twins.get(neighbor);
+        int last = edges.size() - 1;
+        if (slot != last) {
+            T moved = edges.get(last);
+            int movedExtremity = moved.getSource() == neighbor ? moved.getDestination() : moved.getSource();
+            int twinSlot = neighborTwins.get(last);
+            edges.set(slot, moved);
+            neighborTwins.set(slot, twinSlot);
+            oppositeTwins.get(movedExtremity).set(twinSlot, slot);
+        }
+        edges.remove(last);
+        neighborTwins.removeLast();
     }
 
     /**
-     * Removes all edges incident to the specified vertex from the incidence list
-     * of the opposite vertex.
+     * Appends an edge to the lists of its two extremities and records the slot of each copy beside the other one.
      *
-     * @param incidence the map of incidence lists (vertex -> list of edges).
-     * @param vertex the vertex whose edges are to be removed from the opposite vertex's incidence list.
+     * @param firstIncidence the incidence lists receiving the first copy.
+     * @param firstTwins the slots of the twins of the edges of these lists.
+     * @param first the extremity receiving the first copy.
+     * @param secondIncidence the incidence lists receiving the second copy.
+     * @param secondTwins the slots of the twins of the edges of these lists.
+     * @param second the extremity receiving the second copy.
+     * @param edge the edge to append.
+     * @param <T> the type of edges.
      */
-    private void removeEdges(Map<Integer, List<Edge>> incidence, int vertex) {
-        List<Edge> edges = incidence.get(vertex);
-
-        if (edges != null) {
-            for (Edge edge : edges) {
-                List<Edge> oppositeEdges = incidence.get(edge.oppositeExtremity(vertex));
-
-                if (oppositeEdges != null) {
-                    oppositeEdges.remove(edge);
-                }
-            }
-        }
+    private <T extends Edge> void link(List<List<T>> firstIncidence, List<SlotList> firstTwins, int first,
+                                       List<List<T>> secondIncidence, List<SlotList> secondTwins, int second, T edge) {
+        int firstSlot = firstIncidence.get(first).size();
+        firstIncidence.get(first).add(edge);
+        int secondSlot = secondIncidence.get(second).size();
+        secondIncidence.get(second).add(edge);
+        firstTwins.get(first).add(secondSlot);
+        secondTwins.get(second).add(firstSlot);
     }
 
     /**
      * Adds an edge to the graph, handling both directed and non-directed edges.
      * Updates the incidence lists and increments the edge cardinality.
+     * An edge with an extremity out of bounds is ignored, and leaves the graph unchanged.
      *
      * @param edge the edge to be added (directed or non-directed).
      */
     public void addEdge(Edge edge) {
         int source = edge.getSource();
         int destination = edge.getDestination();
+        if (!isNotOutOfBounds(source) || !isNotOutOfBounds(destination)) {
+            return;
+        }
 
         ensureVertex(source);
         ensureVertex(destination);
@@ -155,20 +214,33 @@ public class Graph {
         }
     }
 
+    /**
+     * Checks if an edge joins the two given vertices, whatever its direction.
+     * The lookup is done in the hashed edge index, in constant expected time.
+     *
+     * @param first one extremity.
+     * @param second the other extremity.
+     * @return true if an edge joins the two vertices, false otherwise.
+     */
+    public boolean hasEdge(int first, int second) {
+        return getEdgeIndex().contains(first, second);
+    }
+
     /**
      * Adds a directed edge to the graph if it is not already present.
+     * Two vertices are joined by at most one edge, whatever its direction.
      *
      * @param directedEdge the directed edge to add.
      * @param source the source vertex.
      * @param destination the destination vertex.
-     * @return true if the edge was added, false if it was already present.
+     * @return true if the edge was added, false if it was already present or an extremity is not a vertex.
      */
     private boolean addDirectedEdge(DirectedEdge directedEdge, int source, int destination) {
-        if (!getOutIncidence().get(source).contains(directedEdge)) {
-            getIncidence().get(source).add(directedEdge.getSupport());
-            getIncidence().get(destination).add(directedEdge.getSupport());
-            getOutIncidence().get(source).add(directedEdge);
-            getInIncidence().get(destination).add(directedEdge);
+        if (isVertex(source) && isVertex(destination) && getEdgeIndex().add(source, destination)) {
+            link(getIncidence(), getIncidenceTwins(), source,
+                    getIncidence(), getIncidenceTwins(), destination, directedEdge.getSupport());
+            link(getOutIncidence(), getOutIncidenceTwins(), source,
+                    getInIncidence(), getInIncidenceTwins(), destination, directedEdge);
             return true;
         }
         return false;
@@ -176,39 +248,139 @@ public class Graph {
 
     /**
      * Adds a non-directed edge to the graph if it is not already present.
+     * Two vertices are joined by at most one edge, whatever its direction.
      *
      * @param nonDirectedEdge the non-directed edge to add.
      * @param source the source vertex.
      * @param destination the destination vertex.
-     * @return true if the edge was added, false if it was already present.
+     * @return true if the edge was added, false if it was already present or an extremity is not a vertex.
      */
     private boolean addNonDirectedEdge(NonDirectedEdge nonDirectedEdge, int source, int destination) {
-        if (!getIncidence().get(source).contains(nonDirectedEdge)) {
+        if (isVertex(source) && isVertex(destination) && getEdgeIndex().add(source, destination)) {
             DirectedEdge directedEdgeFromSource = new DirectedEdge(nonDirectedEdge, false);
             DirectedEdge directedEdgeFromDestination = new DirectedEdge(nonDirectedEdge, true);
 
-            getIncidence().get(source).add(nonDirectedEdge);
-            getIncidence().get(destination).add(nonDirectedEdge);
-            getOutIncidence().get(source).add(directedEdgeFromSource);
-            getInIncidence().get(destination).add(directedEdgeFromSource);
-            getOutIncidence().get(destination).add(directedEdgeFromDestination);
-            getInIncidence().get(source).add(directedEdgeFromDestination);
+            link(getIncidence(), getIncidenceTwins(), source,
+                    getIncidence(), getIncidenceTwins(), destination, nonDirectedEdge);
+            link(getOutIncidence(), getOutIncidenceTwins(), source,
+                    getInIncidence(), getInIncidenceTwins(), destination, directedEdgeFromSource);
+            link(getOutIncidence(), getOutIncidenceTwins(), destination,
+                    getInIncidence(), getInIncidenceTwins(), source, directedEdgeFromDestination);
             return true;
         }
         return false;
     }
 
     /**
-     * Returns a list of directed edges leaving the specified vertex.
+     * Returns a read-only view of the directed edges leaving the specified vertex.
+     * The view is not a copy: it reflects later modifications of the graph.
      *
      * @param vertex the vertex whose outgoing edges are to be retrieved.
-     * @return a list of outgoing directed edges from the vertex.
+     * @return a list of outgoing directed edges from the vertex, or null if it is not a vertex.
      */
-    public ArrayList<DirectedEdge> outEdges(int vertex) {
+    public List<DirectedEdge> outEdges(int vertex) {
         if (!isVertex(vertex)) {
             return null;
         }
-        return new ArrayList<>(getOutIncidence().get(vertex));
+        return Collections.unmodifiableList(getOutIncidence().get(vertex));
+    }
+
+    /**
+     * Returns the number of directed edges leaving the specified vertex.
+     *
+     * @param vertex the vertex.
+     * @return the out-degree of the vertex, or 0 if it is not a vertex.
+     */
+    public int degree(int vertex) {
+        if (!isVertex(vertex)) {
+            return 0;
+        }
+        return getOutIncidence().get(vertex).size();
+    }
+
+    /**
+     * Returns the index-th directed edge leaving the specified vertex, without copying its incidence list.
+     *
+     * @param vertex the source vertex.
+     * @param index the index of the edge, in [0, degree(vertex)).
+     * @return the index-th outgoing directed edge of the vertex.
+     */
+    public DirectedEdge outEdge(int vertex, int index) {
+        return getOutIncidence().get(vertex).get(index);
+    }
+
+    /**
+     * Returns the destination of the index-th directed edge leaving the specified vertex.
+     *
+     * @param vertex the source vertex.
+     * @param index the index of the edge, in [0, degree(vertex)).
+     * @return the neighbor reached by the edge.
+     */
+    public int neighbor(int vertex, int index) {
+        return outEdge(vertex, index).getDestination();
+    }
+
+    /**
+     * Returns a directed edge chosen uniformly at random among the edges leaving the specified vertex.
+     *
+     * @param vertex the source vertex, which must have at least one outgoing edge.
+     * @param random the random source.
+     * @return a random outgoing directed edge of the vertex.
+     */
+    public DirectedEdge randomOutEdge(int vertex, RandomSource random) {
+        List<DirectedEdge> outgoingEdges = getOutIncidence().get(vertex);
+        return outgoingEdges.get(random.nextInt(outgoingEdges.size()));
+    }
+
+    /**
+     * Builds an immutable compressed sparse row snapshot of the graph.
+     * The arcs of each vertex are the ones of its outgoing incidence list, in the same order,
+     * and every non-directed edge receives a single id shared by its two arcs.
+     * The active vertices are numbered densely in increasing order, so the snapshot has exactly order() vertices,
+     * labeled by their id in this graph (see {@link CsrGraph#label(int)}).
+     *
+     * @return the CSR snapshot of the graph.
+     */
+    public CsrGraph freeze() {
+        int[] labels = new int[order()];
+        int[] denseIds = new int[upperBound()];
+        int denseId = 0;
+        for (int vertex = 0; vertex < upperBound(); vertex++) {
+            denseIds[vertex] = isVertex(vertex) ? denseId : -1;
+            if (isVertex(vertex)) labels[denseId++] = vertex;
+        }
+
+        int[] offsets = new int[order() + 1];
+        for (int vertex = 0; vertex < order(); vertex++) {
+            offsets[vertex + 1] = offsets[vertex] + getOutIncidence().get(labels[vertex]).size();
+        }
+
+        int[] targets = new int[offsets[order()]];
+        int[] arcs = new int[offsets[order()]];
+        int[] edgeSources = new int[edgeCardinality()];
+        int[] edgeDestinations = new int[edgeCardinality()];
+        double[] edgeWeights = new double[edgeCardinality()];
+        Map<NonDirectedEdge, Integer> ids = new IdentityHashMap<>();
+
+        for (int vertex = 0; vertex < order(); vertex++) {
+            int slot = offsets[vertex];
+            for (DirectedEdge directedEdge : getOutIncidence().get(labels[vertex])) {
+                NonDirectedEdge support = directedEdge.getSupport();
+                Integer id = ids.get(support);
+                if (id == null) {
+                    id = ids.size();
+                    ids.put(support, id);
+                    edgeSources[id] = denseIds[support.getSource()];
+                    edgeDestinations[id] = denseIds[support.getDestination()];
+                    edgeWeights[id] = support.getWeight();
+                }
+                targets[slot] = denseIds[directedEdge.getDestination()];
+                arcs[slot++] = EdgeTable.arc(id, directedEdge.getSource() != support.getSource());
+            }
+        }
+        EdgeTable edgeTable = new EdgeTable(Arrays.copyOf(edgeSources, ids.size()),
+                Arrays.copyOf(edgeDestinations, ids.size()), Arrays.copyOf(edgeWeights, ids.size()));
+        return new CsrGraph(order(), offsets, targets, arcs, edgeTable, denseId == upperBound() ? null : labels);
     }
 
     /**
@@ -241,18 +413,34 @@ public class Graph {
         return upperBound;
     }
 
-    private Map<Integer,List<NonDirectedEdge>> getIncidence() {
+    private List<List<NonDirectedEdge>> getIncidence() {
         return incidence;
     }
 
-    private Map<Integer,List<DirectedEdge>> getInIncidence() {
+    private List<List<DirectedEdge>> getInIncidence() {
         return inIncidence;
     }
 
-    private Map<Integer,List<DirectedEdge>> getOutIncidence() {
+    private List<List<DirectedEdge>> getOutIncidence() {
         return outIncidence;
     }
 
+    private List<SlotList> getIncidenceTwins() {
+        return incidenceTwins;
+    }
+
+    private List<SlotList> getInIncidenceTwins() {
+        return inIncidenceTwins;
+    }
+
+    private List<SlotList> getOutIncidenceTwins() {
+        return outIncidenceTwins;
+    }
+
+    private EdgeIndex getEdgeIndex() {
+        return edgeIndex;
+    }
+
     private void incrementEdgeCardinality() {
         edgeCardinality++;
     }
@@ -22,6 +22,10 @@ public class NonDirectedEdge implements Comparable<NonDirectedEdge>, Edge {
 		return destination;
 	}
 
+	public double getWeight() {
+		return weight;
+	}
+
 	@Override
 	public int oppositeExtremity(int vertex) {
 		if (vertex == getSource()) {
@@ -39,4 +43,25 @@ public class NonDirectedEdge implements Comparable<NonDirectedEdge>, Edge {
 	public int compareTo(NonDirectedEdge e) {
 		return Double.compare(this.weight, e.weight);
 	}
+
+	/**
+	 * Two non-directed edges are equal if they have the same extremities, in any order.
+	 * The weight is ignored, so equality is not consistent with compareTo.
+	 *
+	 * @param o the object to compare with.
+	 * @return true if o is a non-directed edge with the same extremities.
+	 */
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) return true;
+		if (!(o instanceof NonDirectedEdge)) return false;
+		NonDirectedEdge e = (NonDirectedEdge) o;
+		return Math.min(source, destination) == Math.min(e.source, e.destination)
+				&& Math.max(source, destination) == Math.max(e.source, e.destination);
+	}
+
+	@Override
+	public int hashCode() {
+		return 31 * Math.min(source, destination) + Math.max(source, destination);
+	}
 }
@@ -0,0 +1,89 @@
+package Graph;
+
+import Utilities.Randomness.RandomSource;
+
+/**
+ * Read-only view of a non-directed graph on the vertices [0, order()),
+ * giving access to the neighbors of a vertex by index.
+ * Implementations may store their adjacency (see {@link CsrGraph}) or compute it from the vertex index alone.
+ */
+public interface ReadOnlyGraph {
+
+    /**
+     * Returns the number of vertices of the graph.
+     *
+     * @return the order of the graph.
+     */
+    int order();
+
+    /**
+     * Returns the number of neighbors of the given vertex.
+     *
+     * @param vertex the vertex.
+     * @return the degree of the vertex.
+     */
+    int degree(int vertex);
+
+    /**
+     * Returns the index-th neighbor of the given vertex.
+     *
+     * @param vertex the vertex.
+     * @param index the index of the neighbor, in [0, degree(vertex)).
+     * @return the neighbor.
+     */
+    int neighbor(int vertex, int index);
+
+    /**
+     * Checks if the adjacency is symmetric: v is a neighbor of u exactly when u is a neighbor of v.
+     *
+     * @return true if every edge can be traversed both ways, which is the default.
+     */
+    default boolean isSymmetric() {
+        return true;
+    }
+
+    /**
+     * Returns a neighbor of the given vertex chosen uniformly at random.
+     *
+     * @param vertex the vertex, which must have at least one neighbor.
+     * @param random the random source.
+     * @return a random neighbor of the vertex.
+     */
+    default int randomNeighbor(int vertex, RandomSource random) {
+        return neighbor(vertex, random.nextInt(degree(vertex)));
+    }
+
+    /**
+     * Returns the edges of the graph as an edge table.
+     * By default, the table is materialized by listing every pair (vertex, neighbor) with vertex < neighbor,
+     * which requires the adjacency to be symmetric.
+     *
+     * @return the edges of the graph.
+     * @throws IllegalStateException if the graph has too many edges to be stored in arrays.
+     */
+    default EdgeTable getEdgeTable() {
+        long edgeCount = 0;
+        for (int vertex = 0; vertex < order(); vertex++) {
+            for (int index = 0; index < degree(vertex); index++) {
+                if (vertex < neighbor(vertex, index)) edgeCount++;
+            }
+        }
+        if (edgeCount > Integer.MAX_VALUE - 8) {
+            throw new IllegalStateException("The graph has " + edgeCount + " edges, too many for an edge table.");
+        }
+
+        int[] sources = new int[(int) edgeCount];
+        int[] destinations = new int[(int) edgeCount];
+        int edgeId = 0;
+        for (int vertex = 0; vertex < order(); vertex++) {
+            for (int index = 0; index < degree(vertex); index++) {
+                int neighbor = neighbor(vertex, index);
+                if (vertex < neighbor) {
+                    sources[edgeId] = vertex;
+                    destinations[edgeId++] = neighbor;
+                }
+            }
+        }
+        return EdgeTable.unweighted(sources, destinations);
+    }
+}
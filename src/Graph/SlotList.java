@@ -0,0 +1,46 @@
+package Graph;
+
+import java.util.Arrays;
+
+/**
+ * Growable list of primitive ints, removed from the end only.
+ * The graph keeps one beside every incidence list, holding for each edge of the list
+ * its slot in the list of the other extremity.
+ */
+class SlotList {
+
+    private static final int MINIMUM_CAPACITY = 4;
+
+    private int[] slots;
+    private int size;
+
+    SlotList() {
+        this.slots = new int[MINIMUM_CAPACITY];
+        this.size = 0;
+    }
+
+    /**
+     * Appends a slot at the end of the list, doubling the capacity when it is full.
+     *
+     * @param slot the slot to append.
+     */
+    void add(int slot) {
+        if (size == slots.length) slots = Arrays.copyOf(slots, 2 * slots.length);
+        slots[size++] = slot;
+    }
+
+    int get(int index) {
+        return slots[index];
+    }
+
+    void set(int index, int slot) {
+        slots[index] = slot;
+    }
+
+    /**
+     * Removes the last slot of the list.
+     */
+    void removeLast() {
+        size--;
+    }
+}
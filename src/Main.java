@@ -1,40 +1,104 @@
 import Graph.*;
 import RandomTrees.AldousBroder;
+import RandomTrees.Boruvka;
 import RandomTrees.MinimumWeightSpanningTree;
+import RandomTrees.Prim;
 import RandomTrees.RandomEdgeInsertion;
 import RandomTrees.RandomWalkTree;
+import RandomTrees.SpanningTreeSampler;
+import RandomTrees.Wilson;
 import Tests.GraphGenerators.Complete;
 import Tests.GraphGenerators.ErdosRenyi;
 import Tests.GraphGenerators.Grid;
 import Tests.GraphGenerators.Lollipop;
+import Utilities.Randomness.RandomSource;
+import Utilities.Statistics.StreamingStatistics;
 import Utilities.TreeAnalyzers.Labyrinth;
 import Utilities.TreeAnalyzers.RootedTree;
+import Utilities.TreeAnalyzers.TreeMetrics;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import javax.swing.JFrame;
 
 public class Main {
 
+    // number of consecutive samples handled by one task, independent of the number of threads
+    private static final int BLOCK_SIZE = 256;
+
+    private static final String USAGE = "Usage: Main [algorithm] [graph] [seed] [samples >= 1] [threads >= 1]";
+
     static Grid grid;
 
     public static void main(String[] argv) throws Throwable {
 
         int randomTreeIndex = getRandomTreeIndex(argv);
         int graphIndex = getGraphIndex(argv);
-        Graph graph = chooseFromGraphFamily(graphIndex);
-        ArrayList<NonDirectedEdge> randomTree = null;
+        long seed = getSeed(argv);
+        System.out.println("Seed: " + seed);
+        int noOfSamples = getNumberOfSamples(argv);
+        int noOfThreads = getNumberOfThreads(argv);
+        ReadOnlyGraph graph = chooseFromGraphFamily(graphIndex, RandomSource.seeded(seed));
 
-        int noOfSamples = 10;
-        Stats stats = new Stats(noOfSamples);
-        for (int i = 0; i < noOfSamples; i++) {
-            randomTree = genTree(graph, randomTreeIndex);
-            stats.update(randomTree);
+        long startingTime = System.nanoTime();
+        Stats stats = generateSamples(graph, randomTreeIndex, seed, noOfSamples, noOfThreads);
+        stats.print(System.nanoTime() - startingTime);
+
+        if (grid != null) {
+            // the last sample is drawn again from its own stream, so it is the same tree
+            EdgeTable randomTree = selectRandomTreeMethod(graph, randomTreeIndex).sample(RandomSource.derive(seed, noOfSamples - 1));
+            showGrid(grid, convertToNonDirectedEdges(randomTree));
         }
-        stats.print();
+    }
+
+    /**
+     * Generates and analyzes the samples on a fixed pool of platform threads.
+     * The samples are split into blocks of consecutive indexes, each block being a task with its own statistics.
+     * Every sample is drawn from the stream of its index and the statistics of the blocks are merged in block order,
+     * so the result only depends on the seed, not on the number of threads or on the scheduling.
+     * Each thread keeps its own sampler and metrics kernel, since they are not thread-safe.
+     *
+     * @param graph the graph from which to generate the trees
+     * @param randomTreeIndex the index of the tree generation method
+     * @param seed the seed of the run
+     * @param noOfSamples the number of samples
+     * @param noOfThreads the number of threads of the pool
+     * @return the statistics of all the samples
+     */
+    private static Stats generateSamples(ReadOnlyGraph graph, int randomTreeIndex, long seed, int noOfSamples, int noOfThreads) throws Exception {
+        ThreadLocal<SpanningTreeSampler> samplers = ThreadLocal.withInitial(() -> selectRandomTreeMethod(graph, randomTreeIndex));
+        ThreadLocal<TreeMetrics> kernels = ThreadLocal.withInitial(() -> new TreeMetrics(graph.order()));
+        ExecutorService pool = Executors.newFixedThreadPool(noOfThreads);
+        try {
+            List<Future<Stats>> blocks = new ArrayList<>();
+            for (int first = 0; first < noOfSamples; first += BLOCK_SIZE) {
+                int from = first;
+                int to = Math.min(first + BLOCK_SIZE, noOfSamples);
+                blocks.add(pool.submit(() -> {
+                    SpanningTreeSampler sampler = samplers.get();
+                    TreeMetrics metrics = kernels.get();
+                    Stats blockStats = new Stats();
+                    for (int i = from; i < to; i++) {
+                        metrics.analyze(sampler.sampleParents(RandomSource.derive(seed, i)), Stats.METRICS);
+                        blockStats.update(metrics);
+                    }
+                    return blockStats;
+                }));
+            }
 
-        if (grid != null) showGrid(grid, randomTree);
+            Stats stats = new Stats();
+            for (Future<Stats> block : blocks) {
+                stats.merge(block.get());
+            }
+            return stats;
+        } finally {
+            pool.shutdown();
+        }
     }
 
     /**
@@ -65,144 +129,217 @@ public class Main {
         return 1;
     }
 
+    /**
+     * Gets the seed of the run from the command line arguments.
+     * Defaults to the current time if no argument is provided.
+     *
+     * @param argv the command line arguments
+     * @return the seed
+     */
+    private static long getSeed(String[] argv) {
+        if (argv.length > 2) {
+            return Long.parseLong(argv[2]);
+        }
+        return System.nanoTime();
+    }
+
+    /**
+     * Gets the number of samples from the command line arguments.
+     * Defaults to 10 if no argument is provided, and exits with the usage message if it is not positive.
+     *
+     * @param argv the command line arguments
+     * @return the number of samples
+     */
+    private static int getNumberOfSamples(String[] argv) {
+        if (argv.length > 3) {
+            return requirePositive(Integer.parseInt(argv[3]), "samples");
+        }
+        return 10;
+    }
+
+    /**
+     * Gets the number of sampling threads from the command line arguments.
+     * Defaults to the number of available processors if no argument is provided,
+     * and exits with the usage message if it is not positive.
+     *
+     * @param argv the command line arguments
+     * @return the number of threads
+     */
+    private static int getNumberOfThreads(String[] argv) {
+        if (argv.length > 4) {
+            return requirePositive(Integer.parseInt(argv[4]), "threads");
+        }
+        return Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Checks that a count given on the command line is at least 1,
+     * or prints the usage message and exits.
+     *
+     * @param count the parsed count
+     * @param name the name of the argument
+     * @return the count
+     */
+    private static int requirePositive(int count, String name) {
+        if (count < 1) {
+            System.err.println("The number of " + name + " must be at least 1, got " + count + ".");
+            System.err.println(USAGE);
+            System.exit(1);
+        }
+        return count;
+    }
+
     /**
      * Selects a graph from a family of graphs.
      * The function can be modified to choose different types of graphs.
+     * Grids and complete graphs are used implicitly, the other families are frozen into CSR snapshots.
      *
+     * @param index the graph index
+     * @param random the random source of the random graph families
      * @return the selected graph
      */
-    private static Graph chooseFromGraphFamily(int index) {
-        Graph graph;
+    private static ReadOnlyGraph chooseFromGraphFamily(int index, RandomSource random) {
+        ReadOnlyGraph graph;
         switch (index) {
             case 1:
                 System.out.println("-------Grid mode------");
                 grid = new Grid(1920 / 11, 1080 / 11);
-                graph = grid.getGraph();
+                graph = grid;
                 break;
             case 2:
                 System.out.println("-------Complete Graph mode------");
-                graph = new Complete(400).getGraph();
+                graph = new Complete(400);
                 break;
             case 3:
                 System.out.println("-------ErdosRenyi mode------");
-                graph = new ErdosRenyi(1_000, 100).getGraph();
+                graph = new ErdosRenyi(1_000, 100, random).getGraph().freeze();
                 break;
             case 4:
                 System.out.println("-------Lollipop mode------");
-                graph = new Lollipop(1_000).getGraph();
+                graph = new Lollipop(1_000, random).getGraph().freeze();
                 break;
             default:
-                return chooseFromGraphFamily(1);
+                return chooseFromGraphFamily(1, random);
         }
         return graph;
     }
 
-    /**
-     * Generates a random tree based on the selected method.
-     *
-     * @param graph the graph from which to generate the tree
-     * @param randomTreeIndex the index that determines which method to use (e.g., 1 for MST, 2 for Random Walk)
-     * @return the generated tree as a list of undirected edges
-     */
-    public static ArrayList<NonDirectedEdge> genTree(Graph graph, int randomTreeIndex) {
-        ArrayList<Edge> randomDirectedEdgeTree = selectRandomTreeMethod(graph, randomTreeIndex);
-        return convertToNonDirectedEdges(randomDirectedEdgeTree);
-    }
-
     /**
      * Selects the random tree generation method based on the provided index.
      *
      * @param graph the graph from which to generate the tree
-     * @param randomTreeIndex the method index (1 for MST, 2 for Random Walk)
-     * @return a list of directed edges from the selected tree generation method
+     * @param randomTreeIndex the method index (1 for MST, 2 for Random Walk, 3 for Edge Insertion, 4 for Aldous-Broder, 5 for Wilson, 6 for Boruvka, 7 for Prim)
+     * @return a sampler bound to the graph, reused for every sample
      */
-    private static ArrayList<Edge> selectRandomTreeMethod(Graph graph, int randomTreeIndex) {
-        ArrayList<Edge> randomDirectedEdgeTree;
+    private static SpanningTreeSampler selectRandomTreeMethod(ReadOnlyGraph graph, int randomTreeIndex) {
+        SpanningTreeSampler sampler;
 
         switch (randomTreeIndex) {
             case 1:
-                randomDirectedEdgeTree = MinimumWeightSpanningTree.generateRandomTree(graph);
+                sampler = new MinimumWeightSpanningTree(graph);
                 break;
             case 2:
-                randomDirectedEdgeTree = RandomWalkTree.generateRandomTree(graph, true);
+                sampler = new RandomWalkTree(graph, true);
                 break;
             case 3:
-                randomDirectedEdgeTree = RandomEdgeInsertion.generateRandomTree(graph);
+                sampler = new RandomEdgeInsertion(graph, true);
                 break;
             case 4:
-                randomDirectedEdgeTree = AldousBroder.generateRandomTree(graph);
+                sampler = new AldousBroder(graph);
+                break;
+            case 5:
+                sampler = new Wilson(graph);
+                break;
+            case 6:
+                sampler = new Boruvka(graph);
+                break;
+            case 7:
+                sampler = new Prim(graph);
                 break;
             default:
                 return selectRandomTreeMethod(graph, 1);
         }
-        return randomDirectedEdgeTree;
+        return sampler;
     }
 
     /**
-     * Converts a list of directed edges into a list of undirected edges.
+     * Converts an edge table into a list of undirected edges.
      *
-     * @param directedEdges the list of directed edges
+     * @param edges the edge table
      * @return a list of undirected edges
      */
-    private static ArrayList<NonDirectedEdge> convertToNonDirectedEdges(ArrayList<Edge> directedEdges) {
-        ArrayList<NonDirectedEdge> randomTree = new ArrayList<>();
-
-        for (Edge edge : directedEdges) {
-            if (edge instanceof DirectedEdge) {
-                randomTree.add(((DirectedEdge) edge).getSupport());
-            } else if (edge instanceof NonDirectedEdge) {
-                randomTree.add((NonDirectedEdge) edge);
-            }
-        }
-        return randomTree;
+    private static ArrayList<NonDirectedEdge> convertToNonDirectedEdges(EdgeTable edges) {
+        return edges.toNonDirectedEdges();
     }
 
     /**
      * Helper class to store and compute statistics for random trees.
      */
     private static class Stats {
-        private final int  nbrOfSamples;
-        private int diameterSum = 0;
-        private double eccentricitySum = 0;
-        private long wienerSum = 0;
-        private final int[] degreesSum = {0, 0, 0, 0, 0};
-        private final long startingTime;
+        // the statistics computed on every tree
+        private static final int METRICS = TreeMetrics.ALL;
 
-        public Stats(int noOfSamples) {
-            this.nbrOfSamples = noOfSamples;
-            this.startingTime = System.nanoTime();
-        }
+        private final StreamingStatistics eccentricity = new StreamingStatistics();
+        private final StreamingStatistics wienerIndex = new StreamingStatistics();
+        private final StreamingStatistics diameter = new StreamingStatistics();
+        private final StreamingStatistics leaves = new StreamingStatistics();
+        private final StreamingStatistics degreeTwoVertices = new StreamingStatistics();
 
         /**
          * Prints the accumulated statistics.
+         *
+         * @param delay the time spent to generate and analyze the samples, in nanoseconds
          */
-        public void print() {
-            long delay = System.nanoTime() - startingTime;
-
-            System.out.println("On " + nbrOfSamples + " samples:");
-            System.out.println("Average eccentricity: " + (eccentricitySum / nbrOfSamples));
-            System.out.println("Average Wiener index: " + (wienerSum / nbrOfSamples));
-            System.out.println("Average diameter: " + (diameterSum / nbrOfSamples));
-            System.out.println("Average number of leaves: " + (degreesSum[1] / nbrOfSamples));
-            System.out.println("Average number of degree 2 vertices: " + (degreesSum[2] / nbrOfSamples));
+        public void print(long delay) {
+            long nbrOfSamples = diameter.count();
+            System.out.println("On " + nbrOfSamples + " samples (mean +- 95% confidence radius [min, median, max], standard deviation):");
+            System.out.println("Average eccentricity: " + describe(eccentricity));
+            System.out.println("Average Wiener index: " + describe(wienerIndex));
+            System.out.println("Average diameter: " + describe(diameter));
+            System.out.println("Average number of leaves: " + describe(leaves));
+            System.out.println("Average number of degree 2 vertices: " + describe(degreeTwoVertices));
             System.out.println("Average computation time: " + delay / (nbrOfSamples * 1_000_000L) + "ms");
         }
 
+        /**
+         * Formats the summary of a statistic.
+         *
+         * @param statistic the summary of the statistic over the samples
+         * @return its mean, confidence radius, min, median, max and standard deviation
+         */
+        private static String describe(StreamingStatistics statistic) {
+            return String.format("%.3f +- %.3f [%.6g, %.6g, %.6g], sd %.3f",
+                    statistic.mean(), statistic.confidenceRadius(),
+                    statistic.min(), statistic.quantile(0.5), statistic.max(),
+                    statistic.standardDeviation());
+        }
+
         /**
          * Updates the statistics with data from a new random tree.
          *
-         * @param randomTree the generated random tree to analyze
+         * @param metrics the kernel that has just analyzed the new tree
          */
-        public void update(ArrayList<NonDirectedEdge> randomTree) {
-            RootedTree rooted = new RootedTree(randomTree, 0);
-            diameterSum += rooted.getDiameter();
-            eccentricitySum += rooted.getAverageEccentricity();
-            wienerSum += rooted.getWienerIndex();
-
-            int[] degrees = rooted.getDegreeDistribution(4);
-            for (int j = 1; j < 5; j++) {
-                degreesSum[j] += degrees[j];
-            }
+        public void update(TreeMetrics metrics) {
+            eccentricity.add(metrics.getAverageEccentricity());
+            wienerIndex.add(metrics.getWienerIndex());
+            diameter.add(metrics.getDiameter());
+
+            int[] degrees = metrics.getDegreeDistribution(2);
+            leaves.add(degrees[1]);
+            degreeTwoVertices.add(degrees[2]);
+        }
+
+        /**
+         * Adds the statistics of other samples to these ones.
+         *
+         * @param other the statistics to add
+         */
+        public void merge(Stats other) {
+            eccentricity.merge(other.eccentricity);
+            wienerIndex.merge(other.wienerIndex);
+            diameter.merge(other.diameter);
+            leaves.merge(other.leaves);
+            degreeTwoVertices.merge(other.degreeTwoVertices);
         }
     }
 
@@ -1,15 +1,34 @@
 package RandomTrees;
 
+import Graph.CsrGraph;
+import Graph.EdgeTable;
 import Graph.Graph;
 import Graph.Edge;
-import Graph.DirectedEdge;
+import Graph.ReadOnlyGraph;
+import Utilities.Randomness.RandomSource;
 
 import java.util.ArrayList;
-import java.util.HashSet;
-import java.util.Random;
-import java.util.Set;
+import java.util.Arrays;
 
-public class AldousBroder {
+public class AldousBroder implements SpanningTreeSampler {
+
+    private final ReadOnlyGraph graph;
+    private final boolean[] visited;
+    private final int[] parents;
+    private final int[] discoveryOrder;
+    private final WalkStatistics statistics;
+
+    public AldousBroder(ReadOnlyGraph graph) {
+        this(graph, new WalkStatistics());
+    }
+
+    public AldousBroder(ReadOnlyGraph graph, WalkStatistics statistics) {
+        this.graph = graph;
+        this.visited = new boolean[graph.order()];
+        this.parents = new int[graph.order()];
+        this.discoveryOrder = new int[graph.order()];
+        this.statistics = statistics;
+    }
 
     /**
      * Generates a spanning tree using the Aldous-Broder algorithm.
@@ -18,27 +37,174 @@ public class AldousBroder {
      * @return An ArrayList of Edges representing the spanning tree generated by the Aldous-Broder algorithm.
      */
     public static ArrayList<Edge> generateRandomTree(Graph graph) {
-        Random random = new Random();
-        Set<Integer> visited = new HashSet<>();
-        ArrayList<Edge> spanningTree = new ArrayList<>();
+        CsrGraph csrGraph = graph.freeze();
+        return new ArrayList<>(csrGraph.toLabeledEdges(generateRandomTree(csrGraph)));
+    }
 
-        int currentVertex = random.nextInt(graph.order());
-        visited.add(currentVertex);
+    /**
+     * Generates a spanning tree using the Aldous-Broder algorithm on a read-only graph.
+     *
+     * @param graph The graph for which the spanning tree is to be generated.
+     * @return The edges of the spanning tree, in the order they were discovered.
+     */
+    public static EdgeTable generateRandomTree(ReadOnlyGraph graph) {
+        return new AldousBroder(graph).sample(RandomSource.create());
+    }
+
+    /**
+     * Generates a spanning tree using the Aldous-Broder algorithm on a read-only graph,
+     * and records statistics about the walk.
+     *
+     * @param graph      The graph for which the spanning tree is to be generated.
+     * @param statistics The statistics to fill, reset at the start of the walk.
+     * @return The edges of the spanning tree, in the order they were discovered.
+     */
+    public static EdgeTable generateRandomTree(ReadOnlyGraph graph, WalkStatistics statistics) {
+        return new AldousBroder(graph, statistics).sample(RandomSource.create());
+    }
+
+    /**
+     * Generates a spanning tree of the bound graph using the Aldous-Broder algorithm,
+     * and records statistics about the walk.
+     * The walk allocates nothing: visited vertices are marked in a reused boolean array,
+     * and each step picks a neighbor by index with an unsynchronized random source.
+     * Each tree edge is oriented in the direction the walk first crossed it.
+     *
+     * @param random The source of the random numbers of the walk.
+     * @return The edges of the spanning tree, in the order they were discovered.
+     */
+    @Override
+    public EdgeTable sample(RandomSource random) {
+        walk(random);
+        int[] sources = new int[graph.order() - 1];
+        int[] destinations = new int[graph.order() - 1];
+        for (int index = 1; index < graph.order(); index++) {
+            sources[index - 1] = parents[discoveryOrder[index]];
+            destinations[index - 1] = discoveryOrder[index];
+        }
+        return EdgeTable.unweighted(sources, destinations);
+    }
+
+    @Override
+    public int order() {
+        return graph.order();
+    }
+
+    /**
+     * Generates a spanning tree of the bound graph using the Aldous-Broder algorithm,
+     * rooted at the start of the walk.
+     *
+     * @param random The source of the random numbers of the walk.
+     * @return An array whose i-th value is the vertex from which the walk discovered vertex i, -1 for the root.
+     */
+    @Override
+    public int[] sampleParents(RandomSource random) {
+        walk(random);
+        return parents.clone();
+    }
 
-        while (visited.size() < graph.order()) {
-            ArrayList<DirectedEdge> outgoingEdges = graph.outEdges(currentVertex);
+    /**
+     * Walks randomly until every vertex has been visited,
+     * recording the vertex each one was discovered from and the order of the discoveries.
+     *
+     * @param random The source of the random numbers of the walk.
+     */
+    private void walk(RandomSource random) {
+        int visitedCount = 1;
+        Arrays.fill(visited, false);
+        statistics.reset();
 
-            DirectedEdge chosenEdge = outgoingEdges.get(random.nextInt(outgoingEdges.size()));
-            int targetVertex = chosenEdge.getDestination();
+        int currentVertex = random.nextInt(graph.order());
+        visited[currentVertex] = true;
+        parents[currentVertex] = -1;
+        discoveryOrder[0] = currentVertex;
+
+        while (visitedCount < graph.order()) {
+            int targetVertex = graph.neighbor(currentVertex, random.nextInt(graph.degree(currentVertex)));
+            statistics.step();
 
-            if (!visited.contains(targetVertex)) {
-                spanningTree.add(chosenEdge.getSupport());
-                visited.add(targetVertex);
+            if (!visited[targetVertex]) {
+                visited[targetVertex] = true;
+                parents[targetVertex] = currentVertex;
+                discoveryOrder[visitedCount++] = targetVertex;
+                statistics.discovery();
             }
 
             currentVertex = targetVertex;
         }
+    }
+
+    /**
+     * Returns the statistics of the last walk.
+     *
+     * @return The statistics, updated by every sample.
+     */
+    public WalkStatistics getStatistics() {
+        return statistics;
+    }
+
+    /**
+     * Statistics of an Aldous-Broder walk.
+     */
+    public static class WalkStatistics {
+        private long steps;
+        private long stepsSinceLastDiscovery;
+        private long longestStepsWithoutDiscovery;
+        private long coverTime;
+
+        private void reset() {
+            steps = 0;
+            stepsSinceLastDiscovery = 0;
+            longestStepsWithoutDiscovery = 0;
+            coverTime = 0;
+        }
+
+        private void step() {
+            steps++;
+            stepsSinceLastDiscovery++;
+        }
+
+        private void discovery() {
+            longestStepsWithoutDiscovery = Math.max(longestStepsWithoutDiscovery, stepsSinceLastDiscovery);
+            stepsSinceLastDiscovery = 0;
+            coverTime = steps;
+        }
 
-        return spanningTree;
+        /**
+         * Returns the total number of steps of the walk.
+         *
+         * @return The number of steps.
+         */
+        public long getSteps() {
+            return steps;
+        }
+
+        /**
+         * Returns the number of steps made since the last new vertex was discovered.
+         * It is 0 once the walk is complete, since the walk stops on its last discovery.
+         *
+         * @return The number of steps since the last discovery.
+         */
+        public long getStepsSinceLastDiscovery() {
+            return stepsSinceLastDiscovery;
+        }
+
+        /**
+         * Returns the largest number of steps made between two consecutive discoveries of new vertices.
+         *
+         * @return The longest run of steps without discovery.
+         */
+        public long getLongestStepsWithoutDiscovery() {
+            return longestStepsWithoutDiscovery;
+        }
+
+        /**
+         * Returns the cover time of the walk, the step at which the last vertex was discovered.
+         *
+         * @return The cover time.
+         */
+        public long getCoverTime() {
+            return coverTime;
+        }
     }
 }
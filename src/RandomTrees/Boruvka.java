@@ -0,0 +1,185 @@
+package RandomTrees;
+
+import Graph.CsrGraph;
+import Graph.Edge;
+import Graph.EdgeTable;
+import Graph.Graph;
+import Graph.ReadOnlyGraph;
+import Utilities.Randomness.RandomSource;
+import Utilities.Searchers.ConcurrentUnionFind;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.IntStream;
+
+/**
+ * Parallel Boruvka algorithm to generate the minimum spanning tree for random edge weights.
+ * Each round finds, in parallel, the lightest edge leaving every component and contracts the components
+ * along these edges, so there are at most log2(n) rounds.
+ * Edges are compared by weight, then by id, so the minimum spanning tree is unique
+ * and the trees follow the same distribution as the ones built by {@link MinimumWeightSpanningTree}.
+ * The parallel loops are parallel streams, run on the common fork/join pool.
+ * The crossing edges and the tree are kept in buffers allocated once, so a sample only allocates its output.
+ */
+public class Boruvka implements SpanningTreeSampler {
+
+    private static final int NONE = -1;
+
+    private final int order;
+    private final EdgeTable edges;
+    private final double[] weights;
+    private final int[] labels;
+    private final AtomicIntegerArray lightestEdges;
+    // the edges which may still join two components are the first crossingCount ones
+    private final int[] crossingEdges;
+    private int crossingCount;
+    private final int[] spanningTree;
+    private final AtomicInteger treeSize;
+    private final ConcurrentUnionFind unionFind;
+
+    /**
+     * Binds a sampler to a graph. Its edge table is materialized once, if the graph does not store one.
+     *
+     * @param graph The graph for which random spanning trees are to be generated.
+     */
+    public Boruvka(ReadOnlyGraph graph) {
+        this.order = graph.order();
+        this.edges = graph.getEdgeTable();
+        this.weights = new double[edges.size()];
+        this.labels = new int[order];
+        this.lightestEdges = new AtomicIntegerArray(order);
+        this.crossingEdges = new int[edges.size()];
+        this.spanningTree = new int[order - 1];
+        this.treeSize = new AtomicInteger();
+        this.unionFind = new ConcurrentUnionFind(order);
+    }
+
+    /**
+     * Generates a random spanning tree for the given graph.
+     *
+     * @param graph The input graph for which a random spanning tree is to be generated.
+     * @return An ArrayList of Edges representing the random minimum weight spanning tree.
+     */
+    public static ArrayList<Edge> generateRandomTree(Graph graph) {
+        CsrGraph csrGraph = graph.freeze();
+        return new ArrayList<>(csrGraph.toLabeledEdges(generateRandomTree(csrGraph)));
+    }
+
+    /**
+     * Generates a random spanning tree for the given read-only graph.
+     * Its edge table is materialized if the graph does not store one.
+     *
+     * @param graph The graph for which a random spanning tree is to be generated.
+     * @return The edges of the random minimum weight spanning tree, with their random weights.
+     */
+    public static EdgeTable generateRandomTree(ReadOnlyGraph graph) {
+        return new Boruvka(graph).sample(RandomSource.create());
+    }
+
+    /**
+     * Generates a random spanning tree of the bound graph, as the minimum spanning tree for random weights.
+     *
+     * The weights are drawn in a single batch.
+     *
+     * @param random The source of the random weights.
+     * @return The edges of the random minimum weight spanning tree, with their random weights, sorted by edge id.
+     */
+    @Override
+    public EdgeTable sample(RandomSource random) {
+        random.nextDoubles(weights);
+        return edges.withWeights(weights).select(boruvka());
+    }
+
+    @Override
+    public int order() {
+        return order;
+    }
+
+    /**
+     * Runs the Boruvka rounds until no edge joins two components.
+     * The edges internal to a component are dropped after each round, so later rounds only scan crossing edges.
+     *
+     * @return The ids of the edges of the minimum spanning tree, or forest if the graph is not connected, sorted.
+     */
+    private int[] boruvka() {
+        unionFind.reset();
+        treeSize.set(0);
+        for (int edgeId = 0; edgeId < crossingEdges.length; edgeId++) {
+            crossingEdges[edgeId] = edgeId;
+        }
+        crossingCount = crossingEdges.length;
+
+        while (true) {
+            IntStream.range(0, order).parallel().forEach(vertex -> labels[vertex] = unionFind.find(vertex));
+            dropInternalEdges();
+            if (crossingCount == 0) break;
+
+            IntStream.range(0, order).parallel().forEach(vertex -> lightestEdges.set(vertex, NONE));
+            IntStream.range(0, crossingCount).parallel().forEach(index -> {
+                int edgeId = crossingEdges[index];
+                offerLightestEdge(labels[edges.source(edgeId)], edgeId);
+                offerLightestEdge(labels[edges.destination(edgeId)], edgeId);
+            });
+            IntStream.range(0, order).parallel().forEach(this::contract);
+        }
+
+        int[] treeEdges = Arrays.copyOf(spanningTree, treeSize.get());
+        Arrays.sort(treeEdges);
+        return treeEdges;
+    }
+
+    /**
+     * Compacts the crossing edges in place, keeping the ones whose extremities have different labels.
+     * The pass is sequential, it only reads the labels computed in parallel.
+     */
+    private void dropInternalEdges() {
+        int end = 0;
+        for (int index = 0; index < crossingCount; index++) {
+            int edgeId = crossingEdges[index];
+            if (labels[edges.source(edgeId)] != labels[edges.destination(edgeId)]) {
+                crossingEdges[end++] = edgeId;
+            }
+        }
+        crossingCount = end;
+    }
+
+    /**
+     * Replaces the lightest edge known for a component if the given edge is lighter, with a compare-and-set loop.
+     *
+     * @param root   The label of the component.
+     * @param edgeId The id of an edge leaving the component.
+     */
+    private void offerLightestEdge(int root, int edgeId) {
+        int current = lightestEdges.get(root);
+        while ((current == NONE || isLighter(edgeId, current)) && !lightestEdges.compareAndSet(root, current, edgeId)) {
+            current = lightestEdges.get(root);
+        }
+    }
+
+    /**
+     * Unites a component with the one at the other end of its lightest edge.
+     * When two components chose the same edge, only the first union succeeds, so each edge is added once.
+     *
+     * @param root The label of the component, or any vertex which is not a label.
+     */
+    private void contract(int root) {
+        int edgeId = lightestEdges.get(root);
+        if (edgeId != NONE && unionFind.union(edges.source(edgeId), edges.destination(edgeId))) {
+            spanningTree[treeSize.getAndIncrement()] = edgeId;
+        }
+    }
+
+    /**
+     * Compares two edges by weight, ties being broken by edge id.
+     *
+     * @param firstEdge  The id of the first edge.
+     * @param secondEdge The id of the second edge.
+     * @return True if the first edge is lighter than the second one.
+     */
+    private boolean isLighter(int firstEdge, int secondEdge) {
+        return weights[firstEdge] < weights[secondEdge]
+                || (weights[firstEdge] == weights[secondEdge] && firstEdge < secondEdge);
+    }
+}
@@ -1,18 +1,64 @@
 package RandomTrees;
 
+import Graph.CsrGraph;
+import Graph.EdgeTable;
 import Graph.Graph;
-import Graph.NonDirectedEdge;
-import Graph.DirectedEdge;
 import Graph.Edge;
+import Graph.ReadOnlyGraph;
+import Utilities.Randomness.RandomSource;
 import Utilities.Searchers.UnionFind;
 
 import java.util.ArrayList;
-import java.util.PriorityQueue;
-import java.util.Random;
-import java.util.Set;
-import java.util.HashSet;
+import java.util.Arrays;
 
-public class MinimumWeightSpanningTree {
+/**
+ * Random minimum weight spanning tree: every edge receives a uniform random weight in [0, 1),
+ * and the minimum spanning tree for these weights is built with Filter-Kruskal.
+ * Filter-Kruskal partitions the edges around a random pivot weight, builds the tree on the light edges first,
+ * then discards the heavy edges whose extremities are already connected before handling them.
+ * On dense graphs most edges are discarded this way without ever being sorted.
+ * Small ranges are sorted by an LSD radix sort on the bits of their weights.
+ * On a disconnected graph, the sample is the minimum spanning forest.
+ */
+public class MinimumWeightSpanningTree implements SpanningTreeSampler {
+
+    private static final int SORT_THRESHOLD = 1024;
+    private static final int RADIX_BITS = 8;
+    private static final int RADIX = 1 << RADIX_BITS;
+    private static final int DIGITS = Long.SIZE / RADIX_BITS;
+    private static final int PIVOT_SAMPLE_SIZE = 63;
+
+    private final int order;
+    private final EdgeTable edges;
+    private final double[] weights;
+    private final int[] ids;
+    private final long[] keys;
+    private final int[] idBuffer;
+    private final long[] keyBuffer;
+    private final int[] digitCounts;
+    private final long[] pivotSample;
+    private final int[] spanningTree;
+    private int treeSize;
+    private final UnionFind unionFind;
+
+    /**
+     * Binds a sampler to a graph. Its edge table is materialized once, if the graph does not store one.
+     *
+     * @param graph The graph for which random spanning trees are to be generated.
+     */
+    public MinimumWeightSpanningTree(ReadOnlyGraph graph) {
+        this.order = graph.order();
+        this.edges = graph.getEdgeTable();
+        this.weights = new double[edges.size()];
+        this.ids = new int[edges.size()];
+        this.keys = new long[edges.size()];
+        this.idBuffer = new int[Math.min(edges.size(), SORT_THRESHOLD)];
+        this.keyBuffer = new long[idBuffer.length];
+        this.digitCounts = new int[DIGITS * RADIX];
+        this.pivotSample = new long[PIVOT_SAMPLE_SIZE];
+        this.spanningTree = new int[order - 1];
+        this.unionFind = new UnionFind(order);
+    }
 
     /**
      * Generates a random spanning tree for the given graph.
@@ -21,56 +67,218 @@ public class MinimumWeightSpanningTree {
      * @return An ArrayList of Edges representing the random minimum weight spanning tree.
      */
     public static ArrayList<Edge> generateRandomTree(Graph graph) {
-        ArrayList<NonDirectedEdge> edges = assignRandomWeightsToEdges(graph);
-        return kruskal(edges);
+        CsrGraph csrGraph = graph.freeze();
+        return new ArrayList<>(csrGraph.toLabeledEdges(generateRandomTree(csrGraph)));
     }
 
     /**
-     * Assigns random weights between 0 and 1 to the edges of the graph and returns them as a list.
+     * Generates a random spanning tree for the given read-only graph.
+     * Its edge table is materialized if the graph does not store one.
      *
-     * @param graph The input graph whose edges will be assigned random weights.
-     * @return A list of edges with random weights assigned.
+     * @param graph The graph for which a random spanning tree is to be generated.
+     * @return The edges of the random minimum weight spanning tree, with their random weights.
      */
-    private static ArrayList<NonDirectedEdge> assignRandomWeightsToEdges(Graph graph) {
-        Random random = new Random();
-        ArrayList<NonDirectedEdge> edges = new ArrayList<>();
-        Set<NonDirectedEdge> edgeSet = new HashSet<>();
-
-        for (int i = 0; i < graph.order(); i++) {
-            for (DirectedEdge directedEdge : graph.outEdges(i)) {
-                NonDirectedEdge nonDirectedEdge = directedEdge.getSupport();
-                if (!edgeSet.contains(nonDirectedEdge)) {
-                    edgeSet.add(nonDirectedEdge);
-                    edges.add(new NonDirectedEdge(nonDirectedEdge.getSource(),
-                            nonDirectedEdge.getDestination(),
-                            random.nextDouble()));
-                }
-            }
+    public static EdgeTable generateRandomTree(ReadOnlyGraph graph) {
+        return new MinimumWeightSpanningTree(graph).sample(RandomSource.create());
+    }
+
+    /**
+     * Generates a random spanning tree of the bound graph, as the minimum spanning tree for random weights.
+     * The weights, the working arrays and the union-find are reused from one sample to the next.
+     * The weights are drawn in a single batch.
+     *
+     * @param random The source of the random weights and pivots.
+     * @return The edges of the random minimum weight spanning tree, with their random weights.
+     */
+    @Override
+    public EdgeTable sample(RandomSource random) {
+        random.nextDoubles(weights);
+        return edges.withWeights(weights).select(kruskal(random));
+    }
+
+    @Override
+    public int order() {
+        return order;
+    }
+
+    /**
+     * Constructs a minimum spanning tree using Filter-Kruskal.
+     * The ids of the edges are stored with their sort keys, the bits of their weights,
+     * which have the same order as the weights since the weights are non-negative.
+     *
+     * @param random The source of the pivots.
+     * @return The ids of the edges of the minimum spanning tree, or of the minimum spanning forest
+     *         if the graph is not connected.
+     */
+    private int[] kruskal(RandomSource random) {
+        unionFind.reset();
+        treeSize = 0;
+
+        for (int edgeId = 0; edgeId < ids.length; edgeId++) {
+            ids[edgeId] = edgeId;
+            keys[edgeId] = Double.doubleToLongBits(weights[edgeId]);
         }
-        return edges;
+        filterKruskal(0, ids.length, random);
+        return Arrays.copyOf(spanningTree, treeSize);
     }
 
     /**
-     * Constructs a minimum spanning tree using Kruskal's algorithm.
+     * Adds to the tree the edges of the range [from, to) which belong to the minimum spanning tree,
+     * every lighter edge having already been handled.
      *
-     * @param edges A sorted list of edges (by weight) to process for the spanning tree.
-     * @return An ArrayList of Edges representing the minimum spanning tree.
+     * @param from The first position of the range.
+     * @param to     The position after the last one of the range.
+     * @param random The source of the pivots.
      */
-    private static ArrayList<Edge> kruskal(ArrayList<NonDirectedEdge> edges) {
-        UnionFind unionFind = new UnionFind(edges.size());
-        ArrayList<Edge> spanningTree = new ArrayList<>();
+    private void filterKruskal(int from, int to, RandomSource random) {
+        if (treeSize == spanningTree.length) return;
+        if (to - from <= SORT_THRESHOLD) {
+            radixSort(from, to);
+            addEdges(from, to);
+            return;
+        }
 
-        PriorityQueue<NonDirectedEdge> edgeQueue = new PriorityQueue<>(edges);
+        int middle = partition(from, to, choosePivot(from, to, random));
+        filterKruskal(from, middle, random);
+        filterKruskal(middle, filter(middle, to), random);
+    }
 
-        while (!edgeQueue.isEmpty()) {
-            NonDirectedEdge edge = edgeQueue.poll();
-            if (unionFind.union(edge.getSource(), edge.getDestination())) {
-                spanningTree.add(edge);
+    /**
+     * Chooses the pivot of a range as a quantile of a random sample of its keys.
+     * A spanning tree only needs about order edges, so the quantile aims at a light part of twice this size
+     * (but at most half of the range): on dense graphs most edges fall in the heavy part and are filtered at once.
+     *
+     * @param from The first position of the range.
+     * @param to     The position after the last one of the range.
+     * @param random The random source.
+     * @return The key of an edge of the range.
+     */
+    private long choosePivot(int from, int to, RandomSource random) {
+        for (int index = 0; index < PIVOT_SAMPLE_SIZE; index++) {
+            pivotSample[index] = keys[from + random.nextInt(to - from)];
+        }
+        Arrays.sort(pivotSample);
+        double fraction = Math.min(0.5, 2.0 * order / (to - from));
+        return pivotSample[(int) (fraction * (PIVOT_SAMPLE_SIZE - 1))];
+    }
+
+    /**
+     * Scans a sorted range of edges and adds to the tree every edge joining two components.
+     *
+     * @param from The first position of the range.
+     * @param to   The position after the last one of the range.
+     */
+    private void addEdges(int from, int to) {
+        for (int index = from; index < to && treeSize < spanningTree.length; index++) {
+            int edgeId = ids[index];
+            if (unionFind.union(edges.source(edgeId), edges.destination(edgeId))) {
+                spanningTree[treeSize++] = edgeId;
             }
-            if (spanningTree.size() == edges.size() - 1) {
+        }
+    }
+
+    /**
+     * Moves the edges of the range whose key is lower than the pivot before the other ones,
+     * followed by one edge whose key is the pivot. The light part is thus never empty,
+     * and it is only the whole range when the pivot is the unique maximum, which is then partitioned again.
+     *
+     * @param from  The first position of the range.
+     * @param to    The position after the last one of the range.
+     * @param pivot The key of an edge of the range.
+     * @return The position of the first heavy edge.
+     */
+    private int partition(int from, int to, long pivot) {
+        int boundary = from;
+        for (int index = from; index < to; index++) {
+            if (keys[index] < pivot) swap(index, boundary++);
+        }
+        for (int index = boundary; index < to; index++) {
+            if (keys[index] == pivot) {
+                swap(index, boundary++);
                 break;
             }
         }
-        return spanningTree;
+        return boundary;
+    }
+
+    /**
+     * Discards the edges of the range whose extremities are already connected, keeping the order of the other ones.
+     *
+     * @param from The first position of the range.
+     * @param to   The position after the last one of the range.
+     * @return The position after the last kept edge.
+     */
+    private int filter(int from, int to) {
+        int end = from;
+        for (int index = from; index < to; index++) {
+            if (!unionFind.connected(edges.source(ids[index]), edges.destination(ids[index]))) {
+                ids[end] = ids[index];
+                keys[end++] = keys[index];
+            }
+        }
+        return end;
+    }
+
+    /**
+     * Sorts a range of at most SORT_THRESHOLD edges by key with an LSD radix sort on bytes.
+     * The counts of all the digits are computed in a single scan,
+     * and the passes on digits shared by every key of the range (like the exponent of the weights) are skipped.
+     *
+     * @param from The first position of the range.
+     * @param to   The position after the last one of the range.
+     */
+    private void radixSort(int from, int to) {
+        int size = to - from;
+        Arrays.fill(digitCounts, 0);
+        for (int index = from; index < to; index++) {
+            for (int digit = 0; digit < DIGITS; digit++) {
+                digitCounts[digit * RADIX + digitOf(keys[index], digit)]++;
+            }
+        }
+
+        for (int digit = 0; digit < DIGITS; digit++) {
+            int countsOffset = digit * RADIX;
+            if (digitCounts[countsOffset + digitOf(keys[from], digit)] == size) continue;
+
+            int position = 0;
+            for (int value = 0; value < RADIX; value++) {
+                int count = digitCounts[countsOffset + value];
+                digitCounts[countsOffset + value] = position;
+                position += count;
+            }
+            for (int index = from; index < to; index++) {
+                int target = digitCounts[countsOffset + digitOf(keys[index], digit)]++;
+                idBuffer[target] = ids[index];
+                keyBuffer[target] = keys[index];
+            }
+            System.arraycopy(idBuffer, 0, ids, from, size);
+            System.arraycopy(keyBuffer, 0, keys, from, size);
+        }
+    }
+
+    /**
+     * Returns the given digit of a key.
+     *
+     * @param key   The key.
+     * @param digit The index of the digit, 0 for the least significant byte.
+     * @return The value of the digit, in [0, RADIX).
+     */
+    private static int digitOf(long key, int digit) {
+        return (int) (key >>> (digit * RADIX_BITS)) & (RADIX - 1);
+    }
+
+    /**
+     * Swaps two edges of the working arrays, with their keys.
+     *
+     * @param first  The position of the first edge.
+     * @param second The position of the second edge.
+     */
+    private void swap(int first, int second) {
+        int id = ids[first];
+        ids[first] = ids[second];
+        ids[second] = id;
+        long key = keys[first];
+        keys[first] = keys[second];
+        keys[second] = key;
     }
 }
@@ -0,0 +1,148 @@
+package RandomTrees;
+
+import Graph.CsrGraph;
+import Graph.Edge;
+import Graph.EdgeTable;
+import Graph.Graph;
+import Graph.ReadOnlyGraph;
+import Utilities.Randomness.RandomSource;
+import Utilities.Searchers.IndexedDaryHeap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Prim's algorithm to generate the minimum spanning tree for random edge weights.
+ * The weight of an edge is drawn lazily, when the edge is scanned from the first of its extremities entering the tree:
+ * it is never scanned again, so every weight is drawn once and none of them is stored.
+ * The trees thus follow the same distribution as the ones built by {@link MinimumWeightSpanningTree},
+ * with O(order) memory even on implicit dense graphs.
+ * The vertices out of the tree are kept in an indexed d-ary heap, by the weight of their lightest edge toward the tree.
+ */
+public class Prim implements SpanningTreeSampler {
+
+    private static final int HEAP_ARITY = 4;
+
+    private final ReadOnlyGraph graph;
+    private final boolean[] inTree;
+    private final int[] parents;
+    private final int[] additionOrder;
+    private final IndexedDaryHeap heap;
+
+    public Prim(ReadOnlyGraph graph) {
+        this.graph = graph;
+        this.inTree = new boolean[graph.order()];
+        this.parents = new int[graph.order()];
+        this.additionOrder = new int[graph.order()];
+        this.heap = new IndexedDaryHeap(graph.order(), HEAP_ARITY);
+    }
+
+    /**
+     * Generates a random spanning tree for the given graph.
+     *
+     * @param graph The input graph for which a random spanning tree is to be generated.
+     * @return An ArrayList of Edges representing the random minimum weight spanning tree.
+     */
+    public static ArrayList<Edge> generateRandomTree(Graph graph) {
+        CsrGraph csrGraph = graph.freeze();
+        return new ArrayList<>(csrGraph.toLabeledEdges(generateRandomTree(csrGraph)));
+    }
+
+    /**
+     * Generates a random spanning tree for the given read-only graph.
+     *
+     * @param graph The graph for which a random spanning tree is to be generated.
+     * @return The edges of the random minimum weight spanning tree, with their random weights.
+     */
+    public static EdgeTable generateRandomTree(ReadOnlyGraph graph) {
+        return new Prim(graph).sample(RandomSource.create());
+    }
+
+    /**
+     * Generates a random spanning tree of the bound graph, as the minimum spanning tree for random weights.
+     *
+     * @param random The source of the random weights.
+     * @return The edges of the random minimum weight spanning tree with their random weights,
+     * each one oriented from the tree toward the vertex it added, in the order the vertices were added.
+     */
+    @Override
+    public EdgeTable sample(RandomSource random) {
+        growTree(random);
+        int[] sources = new int[graph.order() - 1];
+        int[] destinations = new int[graph.order() - 1];
+        double[] weights = new double[graph.order() - 1];
+        for (int index = 1; index < graph.order(); index++) {
+            int vertex = additionOrder[index];
+            sources[index - 1] = parents[vertex];
+            destinations[index - 1] = vertex;
+            weights[index - 1] = heap.key(vertex);
+        }
+        return new EdgeTable(sources, destinations, weights);
+    }
+
+    @Override
+    public int order() {
+        return graph.order();
+    }
+
+    /**
+     * Generates a random spanning tree of the bound graph, as the minimum spanning tree for random weights,
+     * rooted at the vertex the tree was grown from.
+     *
+     * @param random The source of the random weights.
+     * @return An array whose i-th value is the parent of vertex i in the tree, -1 for the root.
+     */
+    @Override
+    public int[] sampleParents(RandomSource random) {
+        growTree(random);
+        return parents.clone();
+    }
+
+    /**
+     * Grows the tree from a random root, recording the parent of every vertex and the order they were added in.
+     * The key of every vertex in the heap is left to the weight of the edge toward its parent.
+     *
+     * @param random The source of the random weights.
+     */
+    private void growTree(RandomSource random) {
+        Arrays.fill(inTree, false);
+        heap.clear();
+
+        int root = random.nextInt(graph.order());
+        inTree[root] = true;
+        parents[root] = -1;
+        additionOrder[0] = root;
+        scanEdges(root, random);
+
+        int treeSize = 1;
+        while (!heap.isEmpty()) {
+            int vertex = heap.poll();
+            inTree[vertex] = true;
+            additionOrder[treeSize++] = vertex;
+            scanEdges(vertex, random);
+        }
+    }
+
+    /**
+     * Draws the weights of the edges between a vertex that just entered the tree and the vertices out of the tree,
+     * and lowers the keys of these vertices when the new edge is lighter.
+     *
+     * @param vertex The vertex that just entered the tree.
+     * @param random The source of the random weights.
+     */
+    private void scanEdges(int vertex, RandomSource random) {
+        for (int index = 0; index < graph.degree(vertex); index++) {
+            int neighbor = graph.neighbor(vertex, index);
+            if (inTree[neighbor]) continue;
+
+            double weight = random.nextDouble();
+            if (!heap.contains(neighbor)) {
+                heap.insert(neighbor, weight);
+                parents[neighbor] = vertex;
+            } else if (weight < heap.key(neighbor)) {
+                heap.decreaseKey(neighbor, weight);
+                parents[neighbor] = vertex;
+            }
+        }
+    }
+}
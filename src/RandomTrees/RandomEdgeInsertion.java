@@ -1,19 +1,63 @@
 package RandomTrees;
 
+import Graph.CsrGraph;
+import Graph.EdgeTable;
 import Graph.Graph;
-import Graph.NonDirectedEdge;
-import Graph.DirectedEdge;
 import Graph.Edge;
+import Graph.ReadOnlyGraph;
+import Utilities.Randomness.RandomSource;
 import Utilities.Searchers.UnionFind;
 
 import java.util.ArrayList;
-import java.util.Random;
+import java.util.Arrays;
 
 /**
  * Random edge insertion algorithm to generate a spanning tree.
  * This algorithm adds edges randomly while avoiding cycles, ensuring a spanning tree is formed.
+ * The edges are drawn without replacement by a partial Fisher-Yates shuffle of the edge ids, which stops
+ * as soon as the tree is complete: drawing an edge again would always be rejected, so the distribution is the same
+ * as with replacement, without the re-draws.
  */
-public class RandomEdgeInsertion {
+public class RandomEdgeInsertion implements SpanningTreeSampler {
+
+    private final int order;
+    private final EdgeTable edges;
+    private final boolean dropInternalEdges;
+    private final int[] ids;
+    private final int[] swapTargets;
+    private final int[] spanningTree;
+    private final UnionFind unionFind;
+
+    /**
+     * Binds a sampler to a graph. Its edge table is materialized once, if the graph does not store one.
+     *
+     * @param graph The graph from which to generate spanning trees.
+     */
+    public RandomEdgeInsertion(ReadOnlyGraph graph) {
+        this(graph, false);
+    }
+
+    /**
+     * Binds a sampler to a graph. Its edge table is materialized once, if the graph does not store one.
+     *
+     * @param graph             The graph from which to generate spanning trees.
+     * @param dropInternalEdges If true, the edges not drawn yet whose extremities are already connected are dropped
+     *                          every time the rejected draws outnumber a quarter of the edges not drawn yet,
+     *                          so dropping only costs a constant factor over the draws it saves.
+     */
+    public RandomEdgeInsertion(ReadOnlyGraph graph, boolean dropInternalEdges) {
+        this.order = graph.order();
+        this.edges = graph.getEdgeTable();
+        this.dropInternalEdges = dropInternalEdges;
+        this.ids = new int[edges.size()];
+        this.swapTargets = new int[edges.size()];
+        this.spanningTree = new int[order - 1];
+        this.unionFind = new UnionFind(order);
+
+        for (int edgeId = 0; edgeId < ids.length; edgeId++) {
+            ids[edgeId] = edgeId;
+        }
+    }
 
     /**
      * Generates a random spanning tree for the given graph using random edge insertion.
@@ -22,47 +66,114 @@ public class RandomEdgeInsertion {
      * @return An ArrayList of edges representing the random spanning tree.
      */
     public static ArrayList<Edge> generateRandomTree(Graph graph) {
-        ArrayList<NonDirectedEdge> edges = getAllEdges(graph);
-        return randomEdgeInsertion(graph, edges);
+        CsrGraph csrGraph = graph.freeze();
+        return new ArrayList<>(csrGraph.toLabeledEdges(generateRandomTree(csrGraph)));
     }
 
     /**
-     * Retrieves all the edges from the graph.
+     * Generates a random spanning tree for the given read-only graph using random edge insertion.
+     * Its edge table is materialized if the graph does not store one.
      *
-     * @param graph The input graph.
-     * @return A list of all edges (non-directed) in the graph.
+     * @param graph The graph from which to generate the spanning tree.
+     * @return The edges of the random spanning tree.
      */
-    private static ArrayList<NonDirectedEdge> getAllEdges(Graph graph) {
-        ArrayList<NonDirectedEdge> edges = new ArrayList<>();
-        for (int i = 0; i < graph.order(); i++) {
-            for (DirectedEdge directedEdge : graph.outEdges(i)) {
-                NonDirectedEdge nonDirectedEdge = directedEdge.getSupport();
-                edges.add(nonDirectedEdge);
-            }
-        }
-        return edges;
+    public static EdgeTable generateRandomTree(ReadOnlyGraph graph) {
+        return new RandomEdgeInsertion(graph).sample(RandomSource.create());
+    }
+
+    /**
+     * Generates a random spanning tree of the bound graph using random edge insertion.
+     *
+     * @param random The source of the random numbers of the shuffle.
+     * @return The edges of the random spanning tree.
+     */
+    @Override
+    public EdgeTable sample(RandomSource random) {
+        return edges.select(randomEdgeInsertion(random));
+    }
+
+    @Override
+    public int order() {
+        return order;
     }
 
     /**
      * Performs random edge insertion to form a spanning tree.
      * Adds edges randomly to a set F, ensuring no cycle is formed.
+     * The edges not drawn yet are the ids in [index, end). The id array is restored to the identity at the end,
+     * so every sample only depends on its random source, not on the previous samples.
      *
-     * @param graph The graph from which edges are chosen.
-     * @param edges A list of all edges in the graph.
-     * @return A list of edges forming the spanning tree.
+     * @param random The random source.
+     * @return The ids of the edges forming the spanning tree, or a spanning forest if the graph is not connected.
      */
-    private static ArrayList<Edge> randomEdgeInsertion(Graph graph, ArrayList<NonDirectedEdge> edges) {
-        UnionFind unionFind = new UnionFind(graph.order());
-        ArrayList<Edge> spanningTree = new ArrayList<>();
-        Random random = new Random();
+    private int[] randomEdgeInsertion(RandomSource random) {
+        unionFind.reset();
+        int treeSize = 0;
+        int end = ids.length;
+        int rejectedDraws = 0;
+        int firstDropped = ids.length;
+
+        int index = 0;
+        for (; index < end && treeSize < order - 1; index++) {
+            swapTargets[index] = index + random.nextInt(end - index);
+            swap(index, swapTargets[index]);
+            int edgeId = ids[index];
+
+            if (unionFind.union(edges.source(edgeId), edges.destination(edgeId))) {
+                spanningTree[treeSize++] = edgeId;
+            } else if (dropInternalEdges && 4 * ++rejectedDraws >= end - index) {
+                firstDropped = Math.min(firstDropped, index + 1);
+                end = dropInternalEdges(index + 1, end);
+                rejectedDraws = 0;
+            }
+        }
+        restoreIdentity(index, firstDropped);
+        return Arrays.copyOf(spanningTree, treeSize);
+    }
 
-        while (spanningTree.size() < graph.order() - 1) {
-            NonDirectedEdge edge = edges.get(random.nextInt(edges.size()));
+    /**
+     * Resets the positions moved by a sample to the identity permutation, in time proportional to the draws
+     * and to the ranges of the drops: the drawn positions, their swap targets, and every position after the first drop.
+     *
+     * @param drawCount    The number of draws of the sample.
+     * @param firstDropped The first position of the first drop, or the number of edges if there was no drop.
+     */
+    private void restoreIdentity(int drawCount, int firstDropped) {
+        for (int index = 0; index < drawCount; index++) {
+            ids[index] = index;
+            ids[swapTargets[index]] = swapTargets[index];
+        }
+        for (int index = firstDropped; index < ids.length; index++) {
+            ids[index] = index;
+        }
+    }
 
-            if (unionFind.union(edge.getSource(), edge.getDestination())) {
-                spanningTree.add(edge);
+    /**
+     * Moves the edges of the range whose extremities are already connected after the other ones.
+     *
+     * @param from The first position of the range.
+     * @param to   The position after the last one of the range.
+     * @return The position after the last edge joining two components.
+     */
+    private int dropInternalEdges(int from, int to) {
+        int end = from;
+        for (int index = from; index < to; index++) {
+            if (!unionFind.connected(edges.source(ids[index]), edges.destination(ids[index]))) {
+                swap(index, end++);
             }
         }
-        return spanningTree;
+        return end;
+    }
+
+    /**
+     * Swaps two edge ids of the permutation.
+     *
+     * @param first  The position of the first id.
+     * @param second The position of the second id.
+     */
+    private void swap(int first, int second) {
+        int id = ids[first];
+        ids[first] = ids[second];
+        ids[second] = id;
     }
 }
@@ -1,9 +1,40 @@
 package RandomTrees;
-import Graph.*;
+import Graph.CsrGraph;
+import Graph.EdgeTable;
+import Graph.Edge;
+import Graph.Graph;
+import Graph.ReadOnlyGraph;
+import Utilities.Randomness.RandomSource;
 
 import java.util.*;
 
-public class RandomWalkTree {
+/**
+ * Random traversal tree: the vertices are visited in breadth-first order from the start vertex,
+ * the arcs leaving every visited vertex being explored in a uniformly random order.
+ * The arcs are explored in the order of the visits of their sources, so the queue of the traversal
+ * is the visit order itself, and the random order of the arcs of a vertex is drawn lazily,
+ * by a Fisher-Yates shuffle of its neighbor indices, when the vertex reaches the head of the queue.
+ * Besides the graph, a sampler only needs O(V) memory.
+ */
+public class RandomWalkTree implements SpanningTreeSampler {
+
+    private final ReadOnlyGraph graph;
+    private final boolean randomStart;
+    private final boolean[] visited;
+    private final int[] parents;
+    private final int[] visitOrder;
+    // neighbor indices of the vertex at the head of the queue, shuffled as they are explored
+    private final int[] neighborIndices;
+    private int visitedCount;
+
+    public RandomWalkTree(ReadOnlyGraph graph, boolean randomStart) {
+        this.graph = graph;
+        this.randomStart = randomStart;
+        this.visited = new boolean[graph.order()];
+        this.parents = new int[graph.order()];
+        this.visitOrder = new int[graph.order()];
+        this.neighborIndices = new int[maxDegree(graph)];
+    }
 
     /**
      * Generates a random spanning tree for the given graph using a randomized traversal approach.
@@ -13,70 +44,132 @@ public class RandomWalkTree {
      * @return A list of edges representing the random spanning tree.
      */
     public static ArrayList<Edge> generateRandomTree(Graph graph, boolean randomStart) {
-        Random random = new Random();
-        ArrayList<Edge> spanningTree = new ArrayList<>();
-        boolean[] visited = new boolean[graph.order()];
-        ArrayDeque<DirectedEdge> frontier = new ArrayDeque<>();
+        CsrGraph csrGraph = graph.freeze();
+        return new ArrayList<>(csrGraph.toLabeledEdges(generateRandomTree(csrGraph, randomStart)));
+    }
 
-        initializeStartVertex(graph, randomStart, random, visited, frontier);
+    /**
+     * Generates a random spanning tree for the given read-only graph using a randomized traversal approach.
+     *
+     * @param graph       The graph for which the random spanning tree is generated.
+     * @param randomStart If true, starts from a random vertex; otherwise, starts from vertex 0.
+     * @return The edges of the random spanning tree, oriented away from the start vertex.
+     */
+    public static EdgeTable generateRandomTree(ReadOnlyGraph graph, boolean randomStart) {
+        return new RandomWalkTree(graph, randomStart).sample(RandomSource.create());
+    }
 
-        while (!frontier.isEmpty()) {
-            processFrontier(graph, frontier, visited, spanningTree, random);
+    /**
+     * Generates a random spanning tree of the bound graph using a randomized traversal approach.
+     *
+     * @param random The source of the random numbers of the traversal.
+     * @return The edges of the random spanning tree, oriented away from the start vertex,
+     *         or of the tree of its component if the graph is not connected.
+     */
+    @Override
+    public EdgeTable sample(RandomSource random) {
+        traverse(random);
+        int[] sources = new int[visitedCount - 1];
+        int[] destinations = new int[visitedCount - 1];
+        for (int index = 1; index < visitedCount; index++) {
+            sources[index - 1] = parents[visitOrder[index]];
+            destinations[index - 1] = visitOrder[index];
         }
+        return EdgeTable.unweighted(sources, destinations);
+    }
 
-        return spanningTree;
+    @Override
+    public int order() {
+        return graph.order();
     }
 
     /**
-     * Initializes the start vertex for the spanning tree generation.
+     * Generates a random spanning tree of the bound graph using a randomized traversal approach,
+     * rooted at the start vertex.
      *
-     * @param graph      The graph containing the vertices and edges.
-     * @param randomStart If true, selects a random start vertex; otherwise, starts from vertex 0.
-     * @param random     The Random object.
-     * @param visited    An array to mark the visited status of vertices.
-     * @param frontier   The frontier to which outgoing edges of the start vertex are added.
+     * @param random The source of the random numbers of the traversal.
+     * @return An array whose i-th value is the vertex from which vertex i was reached,
+     *         -1 for the start vertex and for the vertices it does not reach.
      */
-    private static void initializeStartVertex(Graph graph, boolean randomStart, Random random, boolean[] visited, ArrayDeque<DirectedEdge> frontier) {
-        int startVertex = 0;
-        if (randomStart) {
-            startVertex = random.nextInt(graph.order());
+    @Override
+    public int[] sampleParents(RandomSource random) {
+        traverse(random);
+        return parents.clone();
+    }
+
+    /**
+     * Traverses the graph from the start vertex, recording the vertex each one was reached from
+     * and the order of the visits. The traversal stops as soon as every vertex is visited,
+     * since the arcs left could only reach visited vertices.
+     *
+     * @param random The source of the random numbers of the traversal.
+     */
+    private void traverse(RandomSource random) {
+        Arrays.fill(visited, false);
+        Arrays.fill(parents, -1);
+
+        initializeStartVertex(random);
+
+        for (int head = 0; head < visitedCount && visitedCount < graph.order(); head++) {
+            exploreNeighbors(visitOrder[head], random);
         }
-        visited[startVertex] = true;
-        addOutgoingEdgesToFrontier(graph, startVertex, frontier, random);
     }
 
     /**
-     * Processes the frontier to expand the spanning tree by adding a randomly selected edge.
+     * Computes the maximum degree of the graph, which bounds the neighbor indices shuffled at once.
+     *
+     * @param graph The graph.
+     * @return The maximum degree of the vertices.
+     */
+    private static int maxDegree(ReadOnlyGraph graph) {
+        int maxDegree = 0;
+        for (int vertex = 0; vertex < graph.order(); vertex++) {
+            maxDegree = Math.max(maxDegree, graph.degree(vertex));
+        }
+        return maxDegree;
+    }
+
+    /**
+     * Initializes the start vertex for the spanning tree generation:
+     * a random vertex if randomStart is set, vertex 0 otherwise.
      *
-     * @param graph        The graph containing the edges.
-     * @param frontier     The frontier of edges to be processed.
-     * @param visited      An array indicating which vertices have been visited.
-     * @param spanningTree The list of edges forming the spanning tree.
-     * @param random       The Random object.
+     * @param random The random source.
      */
-    private static void processFrontier(Graph graph, ArrayDeque<DirectedEdge> frontier, boolean[] visited, ArrayList<Edge> spanningTree, Random random) {
-        DirectedEdge directedEdge = frontier.poll();
-        if (directedEdge == null) return;
-
-        int target = directedEdge.getDestination();
-        if (!visited[target]) {
-            visited[target] = true;
-            spanningTree.add(directedEdge.getSupport());
-            addOutgoingEdgesToFrontier(graph, target, frontier, random);
+    private void initializeStartVertex(RandomSource random) {
+        int startVertex = 0;
+        if (randomStart) {
+            startVertex = random.nextInt(graph.order());
         }
+        visited[startVertex] = true;
+        visitOrder[0] = startVertex;
+        visitedCount = 1;
     }
 
     /**
-     * Adds the outgoing edges of a given vertex to the frontier, in random order.
+     * Explores the arcs leaving a vertex in random order, visiting the unvisited neighbors they reach.
+     * The order is drawn one arc at a time by a forward Fisher-Yates shuffle of the neighbor indices,
+     * which stops once every vertex is visited.
      *
-     * @param graph    The graph containing the edges.
-     * @param vertex   The vertex whose outgoing edges are to be added.
-     * @param frontier The frontier to which the edges will be added.
-     * @param random   The Random object.
+     * @param vertex The vertex at the head of the queue.
+     * @param random The random source.
      */
-    private static void addOutgoingEdgesToFrontier(Graph graph, int vertex, ArrayDeque<DirectedEdge> frontier, Random random) {
-        List<DirectedEdge> outgoingEdges = new ArrayList<>(graph.outEdges(vertex));
-        Collections.shuffle(outgoingEdges, random);
-        frontier.addAll(outgoingEdges);
+    private void exploreNeighbors(int vertex, RandomSource random) {
+        int degree = graph.degree(vertex);
+        for (int index = 0; index < degree; index++) {
+            neighborIndices[index] = index;
+        }
+        for (int index = 0; index < degree && visitedCount < graph.order(); index++) {
+            int swapIndex = index + random.nextInt(degree - index);
+            int neighborIndex = neighborIndices[swapIndex];
+            neighborIndices[swapIndex] = neighborIndices[index];
+            neighborIndices[index] = neighborIndex;
+
+            int neighbor = graph.neighbor(vertex, neighborIndex);
+            if (!visited[neighbor]) {
+                visited[neighbor] = true;
+                parents[neighbor] = vertex;
+                visitOrder[visitedCount++] = neighbor;
+            }
+        }
     }
 }
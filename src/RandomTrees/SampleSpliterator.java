@@ -0,0 +1,63 @@
+package RandomTrees;
+
+import Graph.EdgeTable;
+import Utilities.Randomness.RandomSource;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Spliterator over the samples [index, end) of a seeded run: the i-th tree is drawn from the stream
+ * RandomSource.derive(seed, i), so the trees do not depend on how the range is split between threads.
+ * Each part creates its own sampler from the factory, on its first tree.
+ * The trees are drawn one at a time, when they are pulled, and nothing is buffered.
+ */
+class SampleSpliterator implements Spliterator<EdgeTable> {
+    private final Supplier<? extends SpanningTreeSampler> factory;
+    private final long seed;
+    private final boolean sized;
+    private long index;
+    private final long end;
+    private SpanningTreeSampler sampler;
+
+    SampleSpliterator(Supplier<? extends SpanningTreeSampler> factory, long seed, long index, long end, boolean sized) {
+        this.factory = factory;
+        this.seed = seed;
+        this.index = index;
+        this.end = end;
+        this.sized = sized;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super EdgeTable> action) {
+        if (index >= end) return false;
+        if (sampler == null) sampler = factory.get();
+        action.accept(sampler.sample(RandomSource.derive(seed, index++)));
+        return true;
+    }
+
+    /**
+     * Hands the first half of the remaining samples over to a new spliterator, which will use its own sampler.
+     *
+     * @return The spliterator of the first half, or null if there are less than two samples left.
+     */
+    @Override
+    public Spliterator<EdgeTable> trySplit() {
+        if (end - index < 2) return null;
+        long middle = index + (end - index) / 2;
+        Spliterator<EdgeTable> prefix = new SampleSpliterator(factory, seed, index, middle, sized);
+        index = middle;
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        return sized ? end - index : Long.MAX_VALUE;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | NONNULL | IMMUTABLE | (sized ? SIZED | SUBSIZED : 0);
+    }
+}
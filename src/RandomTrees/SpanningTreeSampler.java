@@ -0,0 +1,122 @@
+package RandomTrees;
+
+import Graph.CsrGraph;
+import Graph.EdgeTable;
+import Utilities.Randomness.RandomSource;
+import Utilities.Searchers.BreadthFirstSearch;
+
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A random spanning tree generator bound to a graph.
+ * Its scratch buffers are allocated once, at construction, and reused by every sample,
+ * so drawing many trees from the same graph only allocates the returned edge tables.
+ * The random numbers come from the source given to every sample, so a run is reproducible from its seed.
+ * A sampler is not thread-safe: concurrent tasks each use their own sampler.
+ */
+public interface SpanningTreeSampler {
+
+    /**
+     * Draws a new random spanning tree of the graph the sampler is bound to.
+     *
+     * @param random The source of the random numbers of this sample.
+     * @return The edges of the spanning tree.
+     */
+    EdgeTable sample(RandomSource random);
+
+    /**
+     * Returns the number of vertices of the graph the sampler is bound to.
+     *
+     * @return The order of the bound graph.
+     */
+    int order();
+
+    /**
+     * Draws a new random spanning tree of the graph the sampler is bound to, as a rooted parent array.
+     * It is the same tree as the one returned by {@link #sample(RandomSource)} for a source in the same state.
+     * By default the tree is rooted at vertex 0 by a breadth-first search,
+     * samplers which grow the tree from a root return their own parent array instead.
+     * If the sample is a spanning forest, the vertices not connected to vertex 0 have no parent either.
+     *
+     * @param random The source of the random numbers of this sample.
+     * @return An array of length order() whose i-th value is the parent of vertex i in the tree,
+     *         -1 for the root and for the vertices it does not reach.
+     */
+    default int[] sampleParents(RandomSource random) {
+        return BreadthFirstSearch.generateParents(CsrGraph.fromEdgeTable(order(), sample(random)), 0);
+    }
+
+    /**
+     * Returns an infinite iterator of trees, each one drawn from the random source when it is pulled.
+     *
+     * @param random The source of the random numbers of all the trees.
+     * @return The iterator of trees.
+     */
+    default Iterator<EdgeTable> iterator(RandomSource random) {
+        return Spliterators.iterator(spliterator(random));
+    }
+
+    /**
+     * Returns an infinite sequential stream of trees, each one drawn from the random source when it is consumed.
+     * The stream does not split, since it uses this sampler only.
+     *
+     * @param random The source of the random numbers of all the trees.
+     * @return The lazy stream of trees.
+     */
+    default Stream<EdgeTable> stream(RandomSource random) {
+        return StreamSupport.stream(spliterator(random), false);
+    }
+
+    /**
+     * Returns an infinite spliterator of trees, drawn from the random source, which does not split.
+     *
+     * @param random The source of the random numbers of all the trees.
+     * @return The spliterator of trees.
+     */
+    private Spliterator<EdgeTable> spliterator(RandomSource random) {
+        return new Spliterators.AbstractSpliterator<>(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(Consumer<? super EdgeTable> action) {
+                action.accept(sample(random));
+                return true;
+            }
+
+            @Override
+            public Spliterator<EdgeTable> trySplit() {
+                return null;
+            }
+        };
+    }
+
+    /**
+     * Returns the stream of the samples [0, count) of a seeded run, which can be made parallel.
+     * The i-th tree is drawn from RandomSource.derive(seed, i), so the trees, and their order,
+     * do not depend on the parallelism. Every split of the stream creates its own sampler with the factory.
+     *
+     * @param factory Creates a sampler bound to the graph, for instance {@code () -> new Wilson(graph)}.
+     * @param seed    The seed of the run.
+     * @param count   The number of trees.
+     * @return The lazy stream of trees.
+     */
+    static Stream<EdgeTable> stream(Supplier<? extends SpanningTreeSampler> factory, long seed, long count) {
+        return StreamSupport.stream(new SampleSpliterator(factory, seed, 0, count, true), false);
+    }
+
+    /**
+     * Returns the infinite stream of the samples of a seeded run, which can be made parallel.
+     * The i-th tree is drawn from RandomSource.derive(seed, i), like in {@link #stream(Supplier, long, long)}.
+     *
+     * @param factory Creates a sampler bound to the graph.
+     * @param seed    The seed of the run.
+     * @return The lazy stream of trees.
+     */
+    static Stream<EdgeTable> stream(Supplier<? extends SpanningTreeSampler> factory, long seed) {
+        return StreamSupport.stream(new SampleSpliterator(factory, seed, 0, Long.MAX_VALUE, false), false);
+    }
+}
@@ -0,0 +1,127 @@
+package RandomTrees;
+
+import Graph.CsrGraph;
+import Graph.Edge;
+import Graph.EdgeTable;
+import Graph.Graph;
+import Graph.ReadOnlyGraph;
+import Utilities.Randomness.RandomSource;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Wilson's algorithm to generate a uniform spanning tree.
+ * Starting from a random root, each vertex not yet in the tree launches a random walk until it hits the tree,
+ * and the loop-erased path of the walk is added to the tree.
+ * The expected running time is the mean hitting time of the graph, instead of its cover time for Aldous-Broder.
+ */
+public class Wilson implements SpanningTreeSampler {
+
+    private final ReadOnlyGraph graph;
+    private final boolean[] inTree;
+    private final int[] next;
+
+    public Wilson(ReadOnlyGraph graph) {
+        this.graph = graph;
+        this.inTree = new boolean[graph.order()];
+        this.next = new int[graph.order()];
+    }
+
+    /**
+     * Generates a uniform spanning tree for the given graph using Wilson's algorithm.
+     *
+     * @param graph The input graph for which the spanning tree is to be generated.
+     * @return An ArrayList of Edges representing the spanning tree.
+     */
+    public static ArrayList<Edge> generateRandomTree(Graph graph) {
+        CsrGraph csrGraph = graph.freeze();
+        return new ArrayList<>(csrGraph.toLabeledEdges(generateRandomTree(csrGraph)));
+    }
+
+    /**
+     * Generates a uniform spanning tree for the given read-only graph using Wilson's algorithm.
+     *
+     * @param graph The graph for which the spanning tree is to be generated.
+     * @return The edges of the spanning tree, each one oriented from a vertex toward its parent.
+     */
+    public static EdgeTable generateRandomTree(ReadOnlyGraph graph) {
+        return new Wilson(graph).sample(RandomSource.create());
+    }
+
+    /**
+     * Generates a uniform spanning tree of the bound graph using Wilson's algorithm.
+     * The walks only record, for every vertex, the last neighbor they left it for (next[]),
+     * which erases the loops implicitly. next[] needs no reset between samples,
+     * since every entry is written by a walk before being read.
+     *
+     * @param random The source of the random numbers of the walks.
+     * @return The edges of the spanning tree, each one oriented from a vertex toward its parent.
+     */
+    @Override
+    public EdgeTable sample(RandomSource random) {
+        int root = buildTree(random);
+        int[] sources = new int[graph.order() - 1];
+        int[] destinations = new int[graph.order() - 1];
+        int treeSize = 0;
+        for (int vertex = 0; vertex < graph.order(); vertex++) {
+            if (vertex == root) continue;
+            sources[treeSize] = vertex;
+            destinations[treeSize++] = next[vertex];
+        }
+        return EdgeTable.unweighted(sources, destinations);
+    }
+
+    @Override
+    public int order() {
+        return graph.order();
+    }
+
+    /**
+     * Generates a uniform spanning tree of the bound graph using Wilson's algorithm, rooted at its random root.
+     * The successors of the loop-erased walks are the parents of the vertices.
+     *
+     * @param random The source of the random numbers of the walks.
+     * @return An array whose i-th value is the parent of vertex i in the tree, -1 for the root.
+     */
+    @Override
+    public int[] sampleParents(RandomSource random) {
+        int root = buildTree(random);
+        int[] parents = next.clone();
+        parents[root] = -1;
+        return parents;
+    }
+
+    /**
+     * Builds the tree in next[]: once every vertex is in the tree, next[vertex] is the parent of every vertex but the root.
+     *
+     * @param random The source of the random numbers of the walks.
+     * @return The root of the tree.
+     */
+    private int buildTree(RandomSource random) {
+        Arrays.fill(inTree, false);
+        int root = random.nextInt(graph.order());
+        inTree[root] = true;
+
+        for (int start = 0; start < graph.order(); start++) {
+            randomWalkToTree(start, random);
+            for (int vertex = start; !inTree[vertex]; vertex = next[vertex]) {
+                inTree[vertex] = true;
+            }
+        }
+        return root;
+    }
+
+    /**
+     * Walks randomly from the start vertex until the tree is hit,
+     * storing in next[] the neighbor chosen at the last visit of each vertex.
+     *
+     * @param start  The vertex the walk starts from.
+     * @param random The random source.
+     */
+    private void randomWalkToTree(int start, RandomSource random) {
+        for (int vertex = start; !inTree[vertex]; vertex = next[vertex]) {
+            next[vertex] = graph.randomNeighbor(vertex, random);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package Tests;
+
+import Graph.CsrGraph;
+import Graph.DirectedEdge;
+import Graph.Graph;
+import Graph.NonDirectedEdge;
+import Tests.GraphGenerators.Complete;
+import Tests.GraphGenerators.Grid;
+import Tests.GraphGenerators.Lollipop;
+import Tests.Utilities.TestExecutionException;
+import Tests.Utilities.TestPrinter;
+import Utilities.Randomness.RandomSource;
+import Utilities.Searchers.BreadthFirstSearch;
+
+import java.util.ArrayList;
+
+public class BreadthFirstSearchTest {
+
+    public static void main(String[] args) throws TestExecutionException {
+        Grid grid = new Grid(4, 3);
+        BreadthFirstSearch search = new BreadthFirstSearch(grid);
+        TestPrinter.result(search.search(0), 12);
+        TestPrinter.result(search.distance(11), 5);
+        TestPrinter.result(search.parent(0), -1);
+        TestPrinter.result(search.vertexAt(0), 0);
+        TestPrinter.result(search.distance(search.vertexAt(11)), 5);
+        TestPrinter.result(search.distance(search.parent(6)), search.distance(6) - 1);
+
+        // the same instance is reused from another root
+        TestPrinter.result(search.search(11), 12);
+        TestPrinter.result(search.distance(0), 5);
+        TestPrinter.result(search.distance(11), 0);
+
+        // path 0 - 1 - 2 and edge 3 - 4
+        Graph graph = new Graph(5);
+        graph.addEdge(new NonDirectedEdge(0, 1, 0));
+        graph.addEdge(new NonDirectedEdge(1, 2, 0));
+        graph.addEdge(new NonDirectedEdge(3, 4, 0));
+        CsrGraph csrGraph = graph.freeze();
+        BreadthFirstSearch components = new BreadthFirstSearch(csrGraph);
+        TestPrinter.result(components.search(3), 2);
+        TestPrinter.result(components.isReached(0), false);
+        TestPrinter.result(components.search(2), 3);
+        TestPrinter.result(components.isReached(3), false);
+        TestPrinter.result(components.distance(4), -1);
+        TestPrinter.result(components.parent(0), 1);
+
+        int[] parents = BreadthFirstSearch.generateParents(csrGraph, 0);
+        TestPrinter.result(parents[2], 1);
+        TestPrinter.result(parents[4], -1);
+        int[] tree = BreadthFirstSearch.generateTree(csrGraph, 0);
+        TestPrinter.result(tree.length, 2);
+        TestPrinter.result(csrGraph.getEdgeTable().arcDestination(tree[1]), 2);
+    
+        // dense graphs are explored bottom-up, with the same distances as the classic search
+        CsrGraph complete = CsrGraph.fromEdgeTable(50, new Complete(50).getEdgeTable());
+        int[] completeTree = BreadthFirstSearch.generateTree(complete, 7);
+        TestPrinter.result(completeTree.length, 49);
+        boolean fromRoot = true;
+        for (int arc : completeTree) fromRoot &= complete.getEdgeTable().arcSource(arc) == 7;
+        TestPrinter.result(fromRoot, true);
+
+        CsrGraph lollipop = new Lollipop(300, RandomSource.seeded(3)).getGraph().freeze();
+        BreadthFirstSearch classic = new BreadthFirstSearch(lollipop, false);
+        BreadthFirstSearch hybrid = new BreadthFirstSearch(lollipop, true);
+        boolean sameDistances = true;
+        for (int root = 0; root < lollipop.order(); root += 7) {
+            sameDistances &= classic.search(root) == hybrid.search(root);
+            for (int vertex = 0; vertex < lollipop.order(); vertex++) {
+                sameDistances &= classic.distance(vertex) == hybrid.distance(vertex);
+                if (vertex != root) sameDistances &= hybrid.distance(hybrid.parent(vertex)) == hybrid.distance(vertex) - 1;
+            }
+        }
+        TestPrinter.result(sameDistances, true);
+
+        // arcs 0 -> 1 and 2 -> 0 are only followed forward
+        Graph directed = new Graph(3);
+        directed.addEdge(new DirectedEdge(new NonDirectedEdge(0, 1, 0), false));
+        directed.addEdge(new DirectedEdge(new NonDirectedEdge(2, 0, 0), false));
+        TestPrinter.result(directed.freeze().isSymmetric(), false);
+        ArrayList<DirectedEdge> fromZero = BreadthFirstSearch.generateTree(directed, 0);
+        TestPrinter.result(fromZero.size(), 1);
+        TestPrinter.result(fromZero.get(0).getSource(), 0);
+        TestPrinter.result(fromZero.get(0).getDestination(), 1);
+        ArrayList<DirectedEdge> fromTwo = BreadthFirstSearch.generateTree(directed, 2);
+        TestPrinter.result(fromTwo.size(), 2);
+        TestPrinter.result(fromTwo.get(0).getSource(), 2);
+        TestPrinter.result(fromTwo.get(0).getDestination(), 0);
+        TestPrinter.result(fromTwo.get(1).getSource(), 0);
+        TestPrinter.result(fromTwo.get(1).getDestination(), 1);
+    }
+}
@@ -0,0 +1,83 @@
+package Tests;
+
+import Graph.CsrGraph;
+import Graph.Graph;
+import Graph.NonDirectedEdge;
+import Graph.DirectedEdge;
+import Graph.EdgeTable;
+import RandomTrees.Wilson;
+import Tests.Utilities.TestExecutionException;
+import Tests.Utilities.TestPrinter;
+
+import Utilities.Randomness.RandomSource;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+public class CsrGraphTest {
+
+    public static void main(String[] args) throws TestExecutionException {
+        Graph graph = new Graph(4);
+        graph.addEdge(new NonDirectedEdge(0, 1, 0));
+        graph.addEdge(new NonDirectedEdge(1, 2, 0));
+        graph.addEdge(new DirectedEdge(new NonDirectedEdge(2, 3, 0), false));
+
+        CsrGraph csrGraph = graph.freeze();
+        TestPrinter.result(csrGraph.order(), 4);
+        TestPrinter.result(csrGraph.edgeCardinality(), 3);
+        TestPrinter.result(csrGraph.degree(0), 1);
+        TestPrinter.result(csrGraph.degree(1), 2);
+        TestPrinter.result(csrGraph.degree(2), 2);
+        TestPrinter.result(csrGraph.degree(3), 0);
+        TestPrinter.result(csrGraph.neighbor(0, 0), 1);
+        TestPrinter.result(csrGraph.neighbor(2, 1), 3);
+        TestPrinter.result(csrGraph.edgeId(0, 0), csrGraph.edgeId(1, 0));
+        TestPrinter.result(csrGraph.directedEdge(1, 0).getSource(), 1);
+        TestPrinter.result(csrGraph.directedEdge(1, 0).getDestination(), 0);
+
+        CsrGraph tree = CsrGraph.fromEdges(3, Arrays.asList(
+                new NonDirectedEdge(0, 1, 0),
+                new NonDirectedEdge(2, 1, 0)));
+        TestPrinter.result(tree.edgeCardinality(), 2);
+        TestPrinter.result(tree.degree(1), 2);
+        TestPrinter.result(tree.neighbor(2, 0), 1);
+        TestPrinter.result(tree.edgeSource(1), 2);
+        TestPrinter.result(tree.edgeDestination(1), 1);
+
+        EdgeTable edgeTable = tree.getEdgeTable();
+        int arc = tree.arc(1, 1);
+        TestPrinter.result(EdgeTable.edgeOfArc(arc), 1);
+        TestPrinter.result(EdgeTable.isReversed(arc), true);
+        TestPrinter.result(edgeTable.arcSource(arc), 1);
+        TestPrinter.result(edgeTable.arcDestination(arc), 2);
+
+        CsrGraph subgraph = csrGraph.spanningSubgraph(new int[]{csrGraph.edgeId(2, 1)});
+        TestPrinter.result(subgraph.edgeCardinality(), 1);
+        TestPrinter.result(subgraph.degree(1), 0);
+        TestPrinter.result(subgraph.neighbor(3, 0), 2);
+
+        Graph deleted = new Graph(4);
+        deleted.addEdge(new NonDirectedEdge(0, 1, 0));
+        deleted.addEdge(new NonDirectedEdge(1, 2, 0));
+        deleted.addEdge(new NonDirectedEdge(2, 3, 0));
+        deleted.addEdge(new NonDirectedEdge(3, 1, 0));
+        deleted.deleteVertex(0);
+        CsrGraph compacted = deleted.freeze();
+        TestPrinter.result(compacted.order(), 3);
+        TestPrinter.result(compacted.getUpperBound(), 3);
+        TestPrinter.result(compacted.label(0), 1);
+        TestPrinter.result(compacted.label(2), 3);
+        TestPrinter.result(compacted.vertexOfLabel(0), -1);
+        TestPrinter.result(compacted.vertexOfLabel(2), 1);
+        TestPrinter.result(compacted.degree(0), 2);
+        TestPrinter.result(compacted.spanningSubgraph(new int[]{0}).label(2), 3);
+
+        EdgeTable spanningTree = new Wilson(compacted).sample(RandomSource.seeded(1));
+        TestPrinter.result(spanningTree.size(), 2);
+        ArrayList<NonDirectedEdge> labeledTree = compacted.toLabeledEdges(spanningTree);
+        for (NonDirectedEdge edge : labeledTree) {
+            TestPrinter.result(deleted.isVertex(edge.getSource()) && deleted.isVertex(edge.getDestination()), true);
+        }
+        TestPrinter.result(Wilson.generateRandomTree(deleted).size(), 2);
+    }
+}
@@ -2,18 +2,61 @@ package Tests.GraphGenerators;
 
 import Graph.*;
 
-public class Complete {
+public class Complete implements ReadOnlyGraph {
 
-    private final Graph graph;
+    private final int order;
+    private Graph graph;
 
+    // The neighborhoods are computed from the vertex indexes,
+    // the Graph object is only built if getGraph() is called.
     public Complete(int order) {
-        this.graph = new Graph(order);
-        for (int i = 0; i < order; i++)
-            for (int j = i + 1; j < order; j++)
-                getGraph().addEdge(new NonDirectedEdge(i, j, 0));
+        this.order = order;
     }
 
+    /**
+     * Builds the Graph object of the complete graph, with one non-directed edge between each pair of vertices.
+     *
+     * @return the materialized complete graph.
+     */
+    private Graph buildGraph() {
+        Graph graph = new Graph(order());
+        for (int i = 0; i < order(); i++)
+            for (int j = i + 1; j < order(); j++)
+                graph.addEdge(new NonDirectedEdge(i, j, 0));
+        return graph;
+    }
+
+    @Override
+    public int order() {
+        return order;
+    }
+
+    @Override
+    public int degree(int vertex) {
+        return order() - 1;
+    }
+
+    /**
+     * Returns the index-th neighbor of a vertex, the neighbors being all the other vertices in increasing order.
+     *
+     * @param vertex The vertex index.
+     * @param index  The index of the neighbor, in [0, order - 1).
+     * @return The neighbor.
+     */
+    @Override
+    public int neighbor(int vertex, int index) {
+        return index < vertex ? index : index + 1;
+    }
+
+    /**
+     * Returns the complete graph as a Graph object, building it on the first call.
+     *
+     * @return the materialized complete graph.
+     */
     public Graph getGraph() {
+        if (graph == null) {
+            graph = buildGraph();
+        }
         return graph;
     }
 }
@@ -1,19 +1,23 @@
 package Tests.GraphGenerators;
 import Graph.* ;
-import Utilities.Searchers.BreadthFirstSearch;
+import Utilities.Randomness.RandomSource;
+import Utilities.Searchers.ConcurrentUnionFind;
 
-import java.util.ArrayList;
-import java.util.Random;
+import java.util.stream.IntStream;
 
 public class ErdosRenyi {
 
 	private Graph graph;
 	private final int order;
 	private final double edgeProbability;
-	private final Random random;
+	private final RandomSource random;
 
 	public ErdosRenyi(int order, float expectedAverageDegree) {
-		this.random = new Random();
+		this(order, expectedAverageDegree, RandomSource.create());
+	}
+
+	public ErdosRenyi(int order, float expectedAverageDegree, RandomSource random) {
+		this.random = random;
 		this.edgeProbability = Math.max(1.5, expectedAverageDegree) / (order-1);
 		this.order = order;
 		while (!isConnected()) {
@@ -22,16 +26,22 @@ public class ErdosRenyi {
 	}
 
 	/**
-	 * Checks if the graph is connected by performing a breadth-first search.
-	 * A graph is considered connected if there is a path from the starting node
-	 * to all other nodes.
+	 * Checks if the graph is connected by uniting the extremities of every edge in a concurrent union-find.
+	 * The vertices are processed in parallel, on all the available cores.
+	 * A graph is considered connected if all its vertices end up in a single set.
 	 *
 	 * @return true if the graph is connected, false otherwise.
 	 */
 	private boolean isConnected() {
 		if (getGraph() == null) return false;
-		ArrayList<DirectedEdge> tree = BreadthFirstSearch.generateTree(getGraph(), 0);
-		return tree.size() == order() - 1;
+		Graph graph = getGraph();
+		ConcurrentUnionFind unionFind = new ConcurrentUnionFind(order());
+		IntStream.range(0, order()).parallel().forEach(vertex -> {
+			for (int index = 0; index < graph.degree(vertex); index++) {
+				unionFind.union(vertex, graph.neighbor(vertex, index));
+			}
+		});
+		return unionFind.componentCount() == 1;
 	}
 
 	/**
@@ -66,7 +76,7 @@ public class ErdosRenyi {
 		return edgeProbability;
 	}
 
-	private Random getRandom() {
+	private RandomSource getRandom() {
 		return random;
 	}
 }
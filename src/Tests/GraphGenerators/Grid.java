@@ -3,30 +3,40 @@ import Graph.*;
 
 import java.util.BitSet;
 
-public class Grid {
+public class Grid implements ReadOnlyGraph {
 
-    private final Graph graph;
+    private Graph graph;
     private final int width;
     private final int height;
     private final int maxVertex;
 
+    // The neighborhoods are computed from the coordinates of the vertices,
+    // the Graph object is only built if getGraph() is called.
     public Grid(int width, int height) {
         this.width = width;
         this.height = height;
         this.maxVertex = width * height - 1;
-        this.graph = new Graph(maxVertex() + 1);
+    }
+
+    /**
+     * Builds the Graph object of the grid, with one non-directed edge between each pair of adjacent vertices.
+     *
+     * @return the materialized grid graph.
+     */
+    private Graph buildGraph() {
+        Graph graph = new Graph(maxVertex() + 1);
 
         for (int i = 0; i < width; i++) {
             for (int j = 0; j < height; j++) {
                 if (i < width - 1) {
-                    getGraph().addEdge(new NonDirectedEdge(
+                    graph.addEdge(new NonDirectedEdge(
                             vertexOfCoordinate(i, j),
                             vertexOfCoordinate(i + 1, j),
                             0.0
                     ));
                 }
                 if (j < height - 1) {
-                    getGraph().addEdge(new NonDirectedEdge(
+                    graph.addEdge(new NonDirectedEdge(
                             vertexOfCoordinate(i, j),
                             vertexOfCoordinate(i, j + 1),
                             0.0
@@ -34,6 +44,43 @@ public class Grid {
                 }
             }
         }
+        return graph;
+    }
+
+    @Override
+    public int order() {
+        return maxVertex() + 1;
+    }
+
+    /**
+     * Returns the number of neighbors of a vertex: 4 inside the grid, 3 on a side and 2 in a corner.
+     *
+     * @param vertex The vertex index.
+     * @return The degree of the vertex.
+     */
+    @Override
+    public int degree(int vertex) {
+        int abscissa = abscissaOfVertex(vertex);
+        int ordinate = ordinateOfVertex(vertex);
+        return (abscissa > 0 ? 1 : 0) + (abscissa < width() - 1 ? 1 : 0)
+                + (ordinate > 0 ? 1 : 0) + (ordinate < height() - 1 ? 1 : 0);
+    }
+
+    /**
+     * Returns the index-th neighbor of a vertex, the existing neighbors being ordered left, right, up, down.
+     *
+     * @param vertex The vertex index.
+     * @param index  The index of the neighbor, in [0, degree(vertex)).
+     * @return The neighbor.
+     */
+    @Override
+    public int neighbor(int vertex, int index) {
+        int abscissa = abscissaOfVertex(vertex);
+        int ordinate = ordinateOfVertex(vertex);
+        if (abscissa > 0 && index-- == 0) return vertex - 1;
+        if (abscissa < width() - 1 && index-- == 0) return vertex + 1;
+        if (ordinate > 0 && index == 0) return vertex - width();
+        return vertex + width();
     }
 
     /**
@@ -150,7 +197,15 @@ public class Grid {
         return height;
     }
 
+    /**
+     * Returns the grid as a Graph object, building it on the first call.
+     *
+     * @return the materialized grid graph.
+     */
     public Graph getGraph() {
+        if (graph == null) {
+            graph = buildGraph();
+        }
         return graph;
     }
 
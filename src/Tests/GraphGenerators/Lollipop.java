@@ -1,5 +1,6 @@
 package Tests.GraphGenerators;
 import Graph.*;
+import Utilities.Randomness.RandomSource;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -9,24 +10,31 @@ public class Lollipop {
 	private final Graph graph;
 
 	public Lollipop(int order) {
+		this(order, RandomSource.create());
+	}
+
+	public Lollipop(int order, RandomSource random) {
 		graph = new Graph(order);
-		ArrayList<Integer> permutation = generateShuffledPermutation(order);
+		ArrayList<Integer> permutation = generateShuffledPermutation(order, random);
 		int t = order / 3;
 		addEdgesForLollipopGraph(permutation, t, order);
 	}
 
 	/**
-	 * Generates a shuffled permutation of vertex indices.
+	 * Generates a shuffled permutation of vertex indices, with the Fisher-Yates algorithm.
 	 *
 	 * @param order The number of vertices.
+	 * @param random The random source.
 	 * @return A shuffled list of vertex indices.
 	 */
-	private ArrayList<Integer> generateShuffledPermutation(int order) {
+	private ArrayList<Integer> generateShuffledPermutation(int order, RandomSource random) {
 		ArrayList<Integer> permutation = new ArrayList<>(order);
 		for (int i = 0; i < order; i++) {
 			permutation.add(i);
 		}
-		Collections.shuffle(permutation);
+		for (int i = order - 1; i > 0; i--) {
+			Collections.swap(permutation, i, random.nextInt(i + 1));
+		}
 		return permutation;
 	}
 
@@ -5,6 +5,7 @@ import Graph.NonDirectedEdge;
 import Graph.DirectedEdge;
 import Tests.Utilities.TestExecutionException;
 import Tests.Utilities.TestPrinter;
+import Utilities.Randomness.RandomSource;
 
 public class GraphTest {
 
@@ -28,18 +29,77 @@ public class GraphTest {
         TestPrinter.result(graph.outEdges(0).size(), 1);
         TestPrinter.result(graph.outEdges(0).contains(directedEdge), true);
         TestPrinter.result(graph.edgeCardinality(), 1);
+        TestPrinter.result(graph.degree(0), 1);
+        TestPrinter.result(graph.degree(1), 0);
+        TestPrinter.result(graph.outEdge(0, 0) == directedEdge, true);
+        TestPrinter.result(graph.neighbor(0, 0), 1);
+        TestPrinter.result(graph.randomOutEdge(0, RandomSource.create()) == directedEdge, true);
 
         graph.addEdge(nonDirectedEdge);
         TestPrinter.result(graph.edgeCardinality(), 1);
+        graph.addEdge(new NonDirectedEdge(1, 0, 5));
+        TestPrinter.result(graph.edgeCardinality(), 1);
+        TestPrinter.result(graph.hasEdge(0, 1), true);
+        TestPrinter.result(graph.hasEdge(1, 0), true);
+        TestPrinter.result(graph.hasEdge(0, 2), false);
 
         TestPrinter.result(graph.order(), 2);
 
         graph.deleteVertex(0);
         TestPrinter.result(graph.edgeCardinality(), 0);
+        TestPrinter.result(graph.hasEdge(0, 1), false);
         TestPrinter.result(graph.outEdges(0) == null, true);
+        TestPrinter.result(graph.degree(0), 0);
         TestPrinter.result(graph.order(), 1);
 
         graph.deleteVertex(1);
         TestPrinter.result(graph.order(), 0);
+
+        Graph triangle = new Graph(3);
+        triangle.addEdge(new NonDirectedEdge(0, 1, 0));
+        triangle.addEdge(new NonDirectedEdge(1, 2, 0));
+        triangle.addEdge(new DirectedEdge(new NonDirectedEdge(2, 0, 0), false));
+        triangle.deleteVertex(1);
+        TestPrinter.result(triangle.edgeCardinality(), 1);
+        TestPrinter.result(triangle.degree(0), 0);
+        TestPrinter.result(triangle.degree(2), 1);
+        TestPrinter.result(triangle.neighbor(2, 0), 0);
+        TestPrinter.result(triangle.hasEdge(0, 2), true);
+        triangle.deleteVertex(0);
+        TestPrinter.result(triangle.edgeCardinality(), 0);
+        TestPrinter.result(triangle.degree(2), 0);
+
+        // deletions move edges inside the lists of the neighbors, which must stay consistent
+        Graph complete = new Graph(30);
+        for (int first = 0; first < 30; first++) {
+            for (int second = first + 1; second < 30; second++) {
+                complete.addEdge(new NonDirectedEdge(first, second, 0));
+            }
+        }
+        boolean consistent = true;
+        for (int step = 0; step < 25; step++) {
+            complete.deleteVertex((step * 7) % 30);
+            for (int vertex = 0; vertex < 30; vertex++) {
+                if (!complete.isVertex(vertex)) continue;
+                consistent &= complete.degree(vertex) == complete.order() - 1;
+                for (int index = 0; index < complete.degree(vertex); index++) {
+                    consistent &= complete.isVertex(complete.neighbor(vertex, index));
+                }
+            }
+        }
+        TestPrinter.result(consistent, true);
+        TestPrinter.result(complete.edgeCardinality(), 10);
+
+        // an edge toward a vertex out of bounds is not indexed
+        Graph bounded = new Graph(3);
+        bounded.addEdge(new NonDirectedEdge(0, 5, 0));
+        bounded.addEdge(new DirectedEdge(new NonDirectedEdge(-1, 2, 0), false));
+        TestPrinter.result(bounded.hasEdge(0, 5), false);
+        TestPrinter.result(bounded.hasEdge(-1, 2), false);
+        TestPrinter.result(bounded.edgeCardinality(), 0);
+        TestPrinter.result(bounded.order(), 0);
+        bounded.addEdge(new NonDirectedEdge(0, 2, 0));
+        TestPrinter.result(bounded.hasEdge(0, 2), true);
+        TestPrinter.result(bounded.edgeCardinality(), 1);
     }
 }
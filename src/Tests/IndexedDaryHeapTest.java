@@ -0,0 +1,58 @@
+package Tests;
+
+import Tests.Utilities.TestExecutionException;
+import Tests.Utilities.TestPrinter;
+import Utilities.Searchers.IndexedDaryHeap;
+
+import java.util.Arrays;
+import java.util.Random;
+
+public class IndexedDaryHeapTest {
+
+    public static void main(String[] args) throws TestExecutionException {
+        IndexedDaryHeap heap = new IndexedDaryHeap(6, 3);
+        TestPrinter.result(heap.isEmpty(), true);
+
+        heap.insert(0, 5.0);
+        heap.insert(3, 2.0);
+        heap.insert(5, 7.0);
+        heap.insert(1, 4.0);
+        TestPrinter.result(heap.size(), 4);
+        TestPrinter.result(heap.contains(3), true);
+        TestPrinter.result(heap.contains(2), false);
+        TestPrinter.result(heap.peek(), 3);
+
+        heap.decreaseKey(5, 1.0);
+        TestPrinter.result(heap.peek(), 5);
+        TestPrinter.result(heap.poll(), 5);
+        TestPrinter.result(heap.key(5) == 1.0, true);
+        TestPrinter.result(heap.contains(5), false);
+        TestPrinter.result(heap.poll(), 3);
+        TestPrinter.result(heap.poll(), 1);
+        TestPrinter.result(heap.poll(), 0);
+        TestPrinter.result(heap.isEmpty(), true);
+
+        heap.insert(2, 1.0);
+        heap.clear();
+        TestPrinter.result(heap.contains(2), false);
+
+        int capacity = 1_000;
+        Random random = new Random(0);
+        double[] keys = new double[capacity];
+        IndexedDaryHeap large = new IndexedDaryHeap(capacity, 4);
+        for (int element = 0; element < capacity; element++) {
+            keys[element] = random.nextDouble();
+            large.insert(element, keys[element]);
+        }
+        for (int element = 0; element < capacity; element += 2) {
+            keys[element] /= 2;
+            large.decreaseKey(element, keys[element]);
+        }
+        double[] polledKeys = new double[capacity];
+        for (int index = 0; index < capacity; index++) {
+            polledKeys[index] = large.key(large.poll());
+        }
+        Arrays.sort(keys);
+        TestPrinter.result(Arrays.equals(polledKeys, keys), true);
+    }
+}
@@ -19,5 +19,10 @@ public class NonDirectedEdgeTest {
         TestPrinter.result(nonDirectedEdge1.oppositeExtremity(100), 100);
         TestPrinter.result(nonDirectedEdge1.oppositeExtremity(0), 1);
         TestPrinter.result(nonDirectedEdge1.oppositeExtremity(1), 0);
+
+        NonDirectedEdge reversedEdge1 = new NonDirectedEdge(1, 0, 10);
+        TestPrinter.result(nonDirectedEdge1.equals(reversedEdge1), true);
+        TestPrinter.result(nonDirectedEdge1.hashCode(), reversedEdge1.hashCode());
+        TestPrinter.result(nonDirectedEdge1.equals(nonDirectedEdge2), false);
     }
 }
@@ -0,0 +1,47 @@
+package Tests;
+
+import Tests.Utilities.TestExecutionException;
+import Tests.Utilities.TestPrinter;
+import Utilities.Randomness.RandomSource;
+import Utilities.Randomness.SplittableRandomSource;
+
+import java.util.Arrays;
+
+public class RandomSourceTest {
+
+    public static void main(String[] args) throws TestExecutionException {
+        RandomSource first = RandomSource.seeded(42);
+        RandomSource second = RandomSource.seeded(42);
+        boolean sameSequence = true;
+        for (int index = 0; index < 100; index++) {
+            sameSequence &= first.nextLong() == second.nextLong();
+        }
+        TestPrinter.result(sameSequence, true);
+
+        TestPrinter.result(RandomSource.derive(42, 3).nextLong() == RandomSource.derive(42, 3).nextLong(), true);
+        TestPrinter.result(RandomSource.derive(42, 3).nextLong() == RandomSource.derive(42, 4).nextLong(), false);
+
+        RandomSource parent = RandomSource.seeded(7);
+        RandomSource child = parent.split();
+        TestPrinter.result(child.nextLong() == parent.nextLong(), false);
+
+        double[] batch = new double[1_000];
+        RandomSource.seeded(5).nextDoubles(batch);
+        RandomSource sequential = RandomSource.seeded(5);
+        boolean sameDoubles = true;
+        for (double value : batch) {
+            sameDoubles &= value == sequential.nextDouble() && value >= 0 && value < 1;
+        }
+        TestPrinter.result(sameDoubles, true);
+
+        int bound = 6;
+        int[] counts = new int[bound];
+        int[] draws = new int[60_000];
+        new SplittableRandomSource(11).nextInts(draws, 0, draws.length, bound);
+        for (int draw : draws) counts[draw]++;
+        RandomSource source = RandomSource.seeded(11);
+        for (int index = 0; index < draws.length; index++) counts[source.nextInt(bound)]++;
+        TestPrinter.result(Arrays.stream(counts).allMatch(count -> Math.abs(count - 20_000) < 1_000), true);
+        TestPrinter.result(source.nextInt(1), 0);
+    }
+}
@@ -0,0 +1,44 @@
+package Tests;
+
+import Tests.Utilities.TestExecutionException;
+import Tests.Utilities.TestPrinter;
+import Utilities.TreeAnalyzers.RootedTree;
+
+public class RootedTreeTest {
+
+    public static void main(String[] args) throws TestExecutionException {
+        // path 0 - 1 - 2 - 3 - 4 rooted at 0, rerooted at its center 2
+        RootedTree path = new RootedTree(new int[]{-1, 0, 1, 2, 3});
+        TestPrinter.result(path.getRoot(), 2);
+        TestPrinter.result(path.getDiameter(), 4);
+        TestPrinter.result(path.getRadius(), 2);
+        TestPrinter.result((int) path.getWienerIndex(), 20);
+        TestPrinter.result(path.getCentroid(), 2);
+        TestPrinter.result(path.getDepth(0), 2);
+        TestPrinter.result(path.getHeight(1), 1);
+        TestPrinter.result(path.getSubtreeSize(3), 2);
+        int[] degrees = path.getDegreeDistribution(4);
+        TestPrinter.result(degrees[1], 2);
+        TestPrinter.result(degrees[2], 3);
+        TestPrinter.result(path.getEccentricity(0), 4);
+        TestPrinter.result(path.getEccentricity(3), 3);
+        TestPrinter.result(path.getAverageEccentricity() == 16.0 / 5, true);
+
+        // path 0 - 1 - 2 - 3 has two centers
+        RootedTree evenPath = new RootedTree(new int[]{1, 2, 3, -1});
+        TestPrinter.result(evenPath.getCenters().length, 2);
+        TestPrinter.result(evenPath.getRoot(), 2);
+        TestPrinter.result(evenPath.getRadius(), 2);
+        TestPrinter.result(evenPath.getDiameter(), 3);
+
+        // star with center 3 and a pendant path 3 - 5 - 6, given rooted at a leaf
+        RootedTree star = new RootedTree(new int[]{3, 3, 3, 4, -1, 3, 5});
+        TestPrinter.result(star.getRoot(), 3);
+        TestPrinter.result(star.getDiameter(), 3);
+        TestPrinter.result(star.getSubtreeSize(3), 7);
+        TestPrinter.result(star.getDistanceFromCenterToCentroid(), 0);
+        TestPrinter.result(star.getDegreeDistribution(5)[5], 1);
+        TestPrinter.result(star.getRadius(), 2);
+        TestPrinter.result(star.getEccentricity(6), 3);
+    }
+}
@@ -0,0 +1,83 @@
+package Tests;
+
+import Graph.CsrGraph;
+import Graph.EdgeTable;
+import Graph.NonDirectedEdge;
+import RandomTrees.Boruvka;
+import RandomTrees.MinimumWeightSpanningTree;
+import RandomTrees.RandomEdgeInsertion;
+import RandomTrees.RandomWalkTree;
+import RandomTrees.SpanningTreeSampler;
+import RandomTrees.Wilson;
+import Tests.GraphGenerators.Grid;
+import Tests.Utilities.TestExecutionException;
+import Tests.Utilities.TestPrinter;
+import Utilities.Randomness.RandomSource;
+
+import java.util.Arrays;
+import java.util.Iterator;
+
+public class SpanningTreeSamplerTest {
+
+    public static void main(String[] args) throws TestExecutionException {
+        Grid grid = new Grid(8, 6);
+
+        Iterator<EdgeTable> trees = new Wilson(grid).iterator(RandomSource.seeded(1));
+        TestPrinter.result(trees.hasNext(), true);
+        TestPrinter.result(trees.next().size(), grid.order() - 1);
+        TestPrinter.result(new Wilson(grid).stream(RandomSource.seeded(1)).limit(5).count() == 5, true);
+
+        long[] sequential = SpanningTreeSampler.stream(() -> new Wilson(grid), 3, 64)
+                .mapToLong(SpanningTreeSamplerTest::fingerprint).toArray();
+        long[] parallel = SpanningTreeSampler.stream(() -> new Wilson(grid), 3, 64).parallel()
+                .mapToLong(SpanningTreeSamplerTest::fingerprint).toArray();
+        TestPrinter.result(sequential.length, 64);
+        TestPrinter.result(Arrays.equals(sequential, parallel), true);
+        TestPrinter.result(fingerprint(new Wilson(grid).sample(RandomSource.derive(3, 10))) == sequential[10], true);
+
+        long infinite = SpanningTreeSampler.stream(() -> new Wilson(grid), 3).skip(10).findFirst()
+                .map(SpanningTreeSamplerTest::fingerprint).orElse(0L);
+        TestPrinter.result(infinite == sequential[10], true);
+
+        // two triangles: the samples of a disconnected graph are spanning forests
+        CsrGraph twoTriangles = CsrGraph.fromEdges(6, Arrays.asList(
+                new NonDirectedEdge(0, 1, 0), new NonDirectedEdge(1, 2, 0), new NonDirectedEdge(2, 0, 0),
+                new NonDirectedEdge(3, 4, 0), new NonDirectedEdge(4, 5, 0), new NonDirectedEdge(5, 3, 0)));
+        TestPrinter.result(isSpanningForest(new MinimumWeightSpanningTree(twoTriangles), twoTriangles), true);
+        TestPrinter.result(isSpanningForest(new RandomEdgeInsertion(twoTriangles), twoTriangles), true);
+        TestPrinter.result(isSpanningForest(new RandomEdgeInsertion(twoTriangles, true), twoTriangles), true);
+        TestPrinter.result(isSpanningForest(new Boruvka(twoTriangles), twoTriangles), true);
+
+        // the traversal only spans the component of its start vertex
+        RandomWalkTree traversal = new RandomWalkTree(twoTriangles, false);
+        TestPrinter.result(traversal.sample(RandomSource.seeded(2)).size(), 2);
+        TestPrinter.result(traversal.sampleParents(RandomSource.seeded(2))[4], -1);
+        TestPrinter.result(new RandomWalkTree(grid, true).sample(RandomSource.seeded(2)).size(), grid.order() - 1);
+    }
+
+    private static boolean isSpanningForest(SpanningTreeSampler sampler, CsrGraph graph) {
+        boolean forests = true;
+        for (int sample = 0; sample < 20; sample++) {
+            EdgeTable forest = sampler.sample(RandomSource.derive(5, sample));
+            forests &= forest.size() == graph.order() - 2;
+            for (int edgeId = 0; edgeId < forest.size(); edgeId++) {
+                for (int other = 0; other < edgeId; other++) {
+                    forests &= Math.min(forest.source(edgeId), forest.destination(edgeId)) != Math.min(forest.source(other), forest.destination(other))
+                            || Math.max(forest.source(edgeId), forest.destination(edgeId)) != Math.max(forest.source(other), forest.destination(other));
+                }
+            }
+            int[] parents = sampler.sampleParents(RandomSource.derive(5, sample));
+            forests &= parents.length == sampler.order() && parents[1] >= 0 && parents[4] == -1;
+        }
+        return forests;
+    }
+
+    private static long fingerprint(EdgeTable tree) {
+        long hash = 0;
+        for (int edgeId = 0; edgeId < tree.size(); edgeId++) {
+            hash = 31 * hash + tree.source(edgeId);
+            hash = 31 * hash + tree.destination(edgeId);
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,42 @@
+package Tests;
+
+import Tests.Utilities.TestExecutionException;
+import Tests.Utilities.TestPrinter;
+import Utilities.Statistics.StreamingStatistics;
+
+public class StreamingStatisticsTest {
+
+    public static void main(String[] args) throws TestExecutionException {
+        StreamingStatistics all = new StreamingStatistics();
+        StreamingStatistics low = new StreamingStatistics();
+        StreamingStatistics high = new StreamingStatistics();
+        for (int value = 1; value <= 100; value++) {
+            all.add(value);
+            (value <= 30 ? low : high).add(value);
+        }
+        TestPrinter.result((int) all.count(), 100);
+        TestPrinter.result(all.mean() == 50.5, true);
+        // variance of 1..n is n(n+1)/12
+        TestPrinter.result(Math.abs(all.variance() - 100 * 101 / 12.0) < 1e-9, true);
+        TestPrinter.result(all.min() == 1 && all.max() == 100, true);
+        TestPrinter.result(Math.abs(all.quantile(0.5) - 50) <= 50 / 32.0, true);
+        TestPrinter.result(all.quantile(0) == 1 && all.quantile(1) == 100, true);
+
+        low.merge(high);
+        TestPrinter.result((int) low.count(), 100);
+        TestPrinter.result(Math.abs(low.mean() - all.mean()) < 1e-9, true);
+        TestPrinter.result(Math.abs(low.variance() - all.variance()) < 1e-9, true);
+        TestPrinter.result(low.quantile(0.9) == all.quantile(0.9), true);
+
+        // a large offset does not cancel out the variance
+        StreamingStatistics shifted = new StreamingStatistics();
+        for (int value = 1; value <= 100; value++) shifted.add(1e9 + value);
+        TestPrinter.result(Math.abs(shifted.variance() - all.variance()) < 1e-3, true);
+        TestPrinter.result(Math.abs(shifted.quantile(0.5) / (1e9 + 50) - 1) < 1.0 / 64, true);
+
+        StreamingStatistics empty = new StreamingStatistics();
+        TestPrinter.result(Double.isNaN(empty.quantile(0.5)), true);
+        empty.merge(all);
+        TestPrinter.result(empty.mean() == all.mean(), true);
+    }
+}
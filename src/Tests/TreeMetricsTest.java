@@ -0,0 +1,48 @@
+package Tests;
+
+import RandomTrees.Wilson;
+import Tests.GraphGenerators.Grid;
+import Tests.Utilities.TestExecutionException;
+import Tests.Utilities.TestPrinter;
+import Utilities.Randomness.RandomSource;
+import Utilities.TreeAnalyzers.RootedTree;
+import Utilities.TreeAnalyzers.TreeMetrics;
+
+import java.util.Arrays;
+
+public class TreeMetricsTest {
+
+    public static void main(String[] args) throws TestExecutionException {
+        // path 0 - 1 - 2 - 3 - 4 rooted at 0
+        TreeMetrics path = new TreeMetrics(5);
+        path.analyze(new int[]{-1, 0, 1, 2, 3}, TreeMetrics.ALL);
+        TestPrinter.result(path.getDiameter(), 4);
+        TestPrinter.result(path.getRadius(), 2);
+        TestPrinter.result((int) path.getWienerIndex(), 20);
+        TestPrinter.result(path.getAverageEccentricity() == 16.0 / 5, true);
+        TestPrinter.result(path.getDegreeDistribution(4)[2], 3);
+
+        // the kernel is reused: the statistics of a star replace the ones of the path
+        path.analyze(new int[]{1, -1, 1, 1, 1}, TreeMetrics.DEGREES | TreeMetrics.DIAMETER);
+        TestPrinter.result(path.getDiameter(), 2);
+        TestPrinter.result(path.getDegreeDistribution(4)[1], 4);
+        TestPrinter.result(path.getDegreeDistribution(4)[2], 0);
+        TestPrinter.result(path.getDegreeDistribution(4)[4], 1);
+
+        Grid grid = new Grid(30, 20);
+        Wilson sampler = new Wilson(grid);
+        TreeMetrics metrics = new TreeMetrics(grid.order());
+        boolean same = true;
+        for (int i = 0; i < 20; i++) {
+            int[] parents = sampler.sampleParents(RandomSource.seeded(i));
+            RootedTree tree = new RootedTree(parents);
+            metrics.analyze(parents, TreeMetrics.ALL);
+            same &= metrics.getDiameter() == tree.getDiameter()
+                    && metrics.getRadius() == tree.getRadius()
+                    && metrics.getWienerIndex() == tree.getWienerIndex()
+                    && metrics.getAverageEccentricity() == tree.getAverageEccentricity()
+                    && Arrays.equals(metrics.getDegreeDistribution(4), tree.getDegreeDistribution(4));
+        }
+        TestPrinter.result(same, true);
+    }
+}
@@ -0,0 +1,56 @@
+package Tests;
+
+import Tests.Utilities.TestExecutionException;
+import Tests.Utilities.TestPrinter;
+import Utilities.Searchers.ConcurrentUnionFind;
+import Utilities.Searchers.UnionFind;
+
+import java.util.stream.IntStream;
+
+public class UnionFindTest {
+
+    public static void main(String[] args) throws TestExecutionException {
+        UnionFind unionFind = new UnionFind(5);
+        TestPrinter.result(unionFind.componentCount(), 5);
+        TestPrinter.result(unionFind.connected(0, 1), false);
+
+        TestPrinter.result(unionFind.union(0, 1), true);
+        TestPrinter.result(unionFind.union(1, 2), true);
+        TestPrinter.result(unionFind.union(2, 0), false);
+        TestPrinter.result(unionFind.connected(0, 2), true);
+        TestPrinter.result(unionFind.componentSize(2), 3);
+        TestPrinter.result(unionFind.componentCount(), 3);
+
+        boolean[] connected = unionFind.connected(new int[]{0, 3}, new int[]{2, 4});
+        TestPrinter.result(connected[0], true);
+        TestPrinter.result(connected[1], false);
+
+        unionFind.reset();
+        TestPrinter.result(unionFind.componentCount(), 5);
+        TestPrinter.result(unionFind.connected(0, 2), false);
+        TestPrinter.result(unionFind.componentSize(2), 1);
+        TestPrinter.result(unionFind.union(3, 4), true);
+        TestPrinter.result(unionFind.componentSize(4), 2);
+
+        int order = 1_000_000;
+        UnionFind chain = new UnionFind(order);
+        for (int vertex = 1; vertex < order; vertex++) {
+            chain.union(vertex, vertex - 1);
+        }
+        TestPrinter.result(chain.componentCount(), 1);
+        TestPrinter.result(chain.connected(0, order - 1), true);
+
+        ConcurrentUnionFind concurrentChain = new ConcurrentUnionFind(order);
+        IntStream.range(1, order).parallel().forEach(vertex -> concurrentChain.union(vertex, vertex - 1));
+        TestPrinter.result(concurrentChain.componentCount(), 1);
+        TestPrinter.result(concurrentChain.connected(0, order - 1), true);
+
+        ConcurrentUnionFind pairs = new ConcurrentUnionFind(order);
+        IntStream.range(0, order / 2).parallel().forEach(vertex -> pairs.union(2 * vertex, 2 * vertex + 1));
+        TestPrinter.result(pairs.componentCount(), order / 2);
+        TestPrinter.result(pairs.connected(0, 2), false);
+        int[] labels = pairs.componentLabels();
+        TestPrinter.result(labels[4] == labels[5], true);
+        TestPrinter.result(labels[5] == labels[6], false);
+    }
+}
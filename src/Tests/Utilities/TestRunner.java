@@ -1,13 +1,31 @@
 package Tests.Utilities;
 
+import Tests.BreadthFirstSearchTest;
+import Tests.CsrGraphTest;
 import Tests.DirectedEdgeTest;
 import Tests.GraphTest;
+import Tests.IndexedDaryHeapTest;
 import Tests.NonDirectedEdgeTest;
+import Tests.RandomSourceTest;
+import Tests.RootedTreeTest;
+import Tests.SpanningTreeSamplerTest;
+import Tests.StreamingStatisticsTest;
+import Tests.TreeMetricsTest;
+import Tests.UnionFindTest;
 
 public enum TestRunner {
     NON_DIRECTED_EDGE_TEST(NonDirectedEdgeTest.class),
     DIRECTED_EDGE_TEST(DirectedEdgeTest.class),
-    GRAPH_TEST(GraphTest.class);
+    GRAPH_TEST(GraphTest.class),
+    CSR_GRAPH_TEST(CsrGraphTest.class),
+    UNION_FIND_TEST(UnionFindTest.class),
+    INDEXED_DARY_HEAP_TEST(IndexedDaryHeapTest.class),
+    RANDOM_SOURCE_TEST(RandomSourceTest.class),
+    SPANNING_TREE_SAMPLER_TEST(SpanningTreeSamplerTest.class),
+    ROOTED_TREE_TEST(RootedTreeTest.class),
+    TREE_METRICS_TEST(TreeMetricsTest.class),
+    STREAMING_STATISTICS_TEST(StreamingStatisticsTest.class),
+    BREADTH_FIRST_SEARCH_TEST(BreadthFirstSearchTest.class);
 
     private final Class<?> testClass;
 
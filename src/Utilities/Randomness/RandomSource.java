@@ -0,0 +1,109 @@
+package Utilities.Randomness;
+
+import java.util.SplittableRandom;
+
+/**
+ * Source of pseudo-random numbers shared by the samplers and the graph generators.
+ * Implementations are not thread-safe: concurrent tasks each use their own source, obtained with {@link #split()}
+ * or derived from a seed and a stream index with {@link #derive(long, long)}, so runs are reproducible from a single seed.
+ */
+public interface RandomSource {
+
+    /**
+     * Returns the next 64 pseudo-random bits.
+     *
+     * @return A uniform long.
+     */
+    long nextLong();
+
+    /**
+     * Creates a new source, statistically independent of this one, and advances this one.
+     *
+     * @return The new source.
+     */
+    RandomSource split();
+
+    /**
+     * Returns a uniform integer in [0, bound), with Lemire's multiply-and-shift method,
+     * which only needs a division in the rare case of a rejection.
+     *
+     * @param bound The exclusive upper bound, positive.
+     * @return A uniform integer in [0, bound).
+     */
+    default int nextInt(int bound) {
+        long product = (nextLong() >>> 32) * bound;
+        if ((product & 0xffffffffL) < bound) {
+            // the low 32 bits of the product are below the bound: reject them if they are below 2^32 mod bound
+            long threshold = (1L << 32) % bound;
+            while ((product & 0xffffffffL) < threshold) {
+                product = (nextLong() >>> 32) * bound;
+            }
+        }
+        return (int) (product >>> 32);
+    }
+
+    /**
+     * Returns a uniform double in [0, 1), made of 53 random bits.
+     *
+     * @return A uniform double in [0, 1).
+     */
+    default double nextDouble() {
+        return (nextLong() >>> 11) * 0x1.0p-53;
+    }
+
+    /**
+     * Fills a range of an array with uniform integers in [0, bound).
+     *
+     * @param buffer The array to fill.
+     * @param from   The first index to fill.
+     * @param to     The index after the last one to fill.
+     * @param bound  The exclusive upper bound, positive.
+     */
+    default void nextInts(int[] buffer, int from, int to, int bound) {
+        for (int index = from; index < to; index++) {
+            buffer[index] = nextInt(bound);
+        }
+    }
+
+    /**
+     * Fills an array with uniform doubles in [0, 1).
+     *
+     * @param buffer The array to fill.
+     */
+    default void nextDoubles(double[] buffer) {
+        for (int index = 0; index < buffer.length; index++) {
+            buffer[index] = nextDouble();
+        }
+    }
+
+    /**
+     * Creates a source seeded from the current time, for runs that do not need to be reproduced.
+     *
+     * @return A new source.
+     */
+    static RandomSource create() {
+        return new SplittableRandomSource(new SplittableRandom());
+    }
+
+    /**
+     * Creates a source whose whole sequence is determined by the seed.
+     *
+     * @param seed The seed.
+     * @return A new source.
+     */
+    static RandomSource seeded(long seed) {
+        return new Xoroshiro128PlusPlus(seed);
+    }
+
+    /**
+     * Creates the source of the given stream of a seed, for instance the stream of the i-th sample of a run.
+     * It only depends on the seed and the index, so the streams can be created in any order, on any thread.
+     *
+     * @param seed   The seed of the run.
+     * @param stream The index of the stream.
+     * @return A new source.
+     */
+    static RandomSource derive(long seed, long stream) {
+        return new Xoroshiro128PlusPlus(Xoroshiro128PlusPlus.mix(seed + Xoroshiro128PlusPlus.mix(stream)));
+    }
+}
@@ -0,0 +1,42 @@
+package Utilities.Randomness;
+
+import java.util.SplittableRandom;
+
+/**
+ * Random source backed by a {@link SplittableRandom}.
+ */
+public class SplittableRandomSource implements RandomSource {
+    private final SplittableRandom random;
+
+    public SplittableRandomSource(SplittableRandom random) {
+        this.random = random;
+    }
+
+    public SplittableRandomSource(long seed) {
+        this(new SplittableRandom(seed));
+    }
+
+    @Override
+    public long nextLong() {
+        return getRandom().nextLong();
+    }
+
+    @Override
+    public int nextInt(int bound) {
+        return getRandom().nextInt(bound);
+    }
+
+    @Override
+    public double nextDouble() {
+        return getRandom().nextDouble();
+    }
+
+    @Override
+    public RandomSource split() {
+        return new SplittableRandomSource(getRandom().split());
+    }
+
+    private SplittableRandom getRandom() {
+        return random;
+    }
+}
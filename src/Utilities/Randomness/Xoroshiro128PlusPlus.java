@@ -0,0 +1,102 @@
+package Utilities.Randomness;
+
+/**
+ * Random source implementing xoroshiro128++ (Blackman and Vigna), a 128-bit state generator
+ * with a period of 2^128 - 1 and only a few shifts, rotations and xors per number.
+ * The state is initialized from the seed with SplitMix64, and split() hands over the current position
+ * and jumps 2^64 steps ahead, so the split sources never overlap.
+ */
+public class Xoroshiro128PlusPlus implements RandomSource {
+    private static final long[] JUMP = {0x2bd7a6a6e99c2ddcL, 0x0992ccaf6a6fca05L};
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    private long state0;
+    private long state1;
+
+    public Xoroshiro128PlusPlus(long seed) {
+        this.state0 = mix(seed + GOLDEN_GAMMA);
+        this.state1 = mix(seed + 2 * GOLDEN_GAMMA);
+        if ((state0 | state1) == 0) {
+            state1 = GOLDEN_GAMMA;
+        }
+    }
+
+    private Xoroshiro128PlusPlus(long state0, long state1) {
+        this.state0 = state0;
+        this.state1 = state1;
+    }
+
+    @Override
+    public long nextLong() {
+        long s0 = state0;
+        long s1 = state1;
+        long result = Long.rotateLeft(s0 + s1, 17) + s0;
+        s1 ^= s0;
+        state0 = Long.rotateLeft(s0, 49) ^ s1 ^ (s1 << 21);
+        state1 = Long.rotateLeft(s1, 28);
+        return result;
+    }
+
+    /**
+     * Fills an array with uniform doubles in [0, 1), keeping the state in local variables during the whole loop.
+     *
+     * @param buffer The array to fill.
+     */
+    @Override
+    public void nextDoubles(double[] buffer) {
+        long s0 = state0;
+        long s1 = state1;
+        for (int index = 0; index < buffer.length; index++) {
+            long result = Long.rotateLeft(s0 + s1, 17) + s0;
+            s1 ^= s0;
+            s0 = Long.rotateLeft(s0, 49) ^ s1 ^ (s1 << 21);
+            s1 = Long.rotateLeft(s1, 28);
+            buffer[index] = (result >>> 11) * 0x1.0p-53;
+        }
+        state0 = s0;
+        state1 = s1;
+    }
+
+    /**
+     * Returns a source starting at the current position of this one, then moves this one 2^64 steps ahead.
+     *
+     * @return The new source.
+     */
+    @Override
+    public RandomSource split() {
+        Xoroshiro128PlusPlus child = new Xoroshiro128PlusPlus(state0, state1);
+        jump();
+        return child;
+    }
+
+    /**
+     * Advances the state by 2^64 steps, with the jump polynomial of xoroshiro128++.
+     */
+    private void jump() {
+        long s0 = 0;
+        long s1 = 0;
+        for (long jump : JUMP) {
+            for (int bit = 0; bit < 64; bit++) {
+                if ((jump & (1L << bit)) != 0) {
+                    s0 ^= state0;
+                    s1 ^= state1;
+                }
+                nextLong();
+            }
+        }
+        state0 = s0;
+        state1 = s1;
+    }
+
+    /**
+     * Mixes the bits of a value with the finalizer of SplitMix64.
+     *
+     * @param value The value.
+     * @return The mixed value.
+     */
+    static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+        value = (value ^ (value >>> 27)) * 0x94d049bb133111ebL;
+        return value ^ (value >>> 31);
+    }
+}
@@ -1,88 +1,317 @@
 package Utilities.Searchers;
 
+import Graph.CsrGraph;
 import Graph.DirectedEdge;
+import Graph.EdgeTable;
 import Graph.Graph;
+import Graph.ReadOnlyGraph;
 
 import java.util.*;
 
 
+/**
+ * Breadth-first search on the vertices of a graph, with primitive arrays only.
+ * A search gives the parent, the distance to the root and the visit order of every reached vertex.
+ * The visit order array is also the queue of the search, since every vertex is queued exactly once.
+ * The instance is bound to a graph and reused from one search to the next: a vertex is reached if its stamp
+ * is the epoch of the current search, so starting a new search does not clear any array.
+ * <p>
+ * The search is direction-optimizing (Beamer, Asanovic and Patterson): the levels are explored top-down,
+ * from every vertex of the frontier toward its neighbors, as long as the arcs leaving the frontier are few
+ * compared to the arcs leaving the unreached vertices. Once a growing frontier has many arcs, the levels are explored
+ * bottom-up: every unreached vertex looks for a neighbor in the frontier, stored as a bitset, and stops at the first one.
+ * A bottom-up level scans all the vertices, so the search goes back top-down when the frontier shrinks and gets small.
+ * On dense graphs most vertices are reached in a few levels, and the bottom-up steps skip most of the arcs.
+ * A bottom-up step follows the arcs backward, so it is only used on graphs whose adjacency is symmetric.
+ */
 public class BreadthFirstSearch {
 
-	private final Graph graph;
-	private final Queue<DirectedEdge> frontier;
-	private final ArrayList<DirectedEdge> tree;
-	private final BitSet reached;
+	// a growing frontier goes bottom-up when its arcs exceed 1 / ALPHA of the arcs leaving the unreached vertices
+	private static final int ALPHA = 14;
+	// and a shrinking frontier goes back top-down when it holds less than 1 / BETA of the vertices
+	private static final int BETA = 24;
 
-	private BreadthFirstSearch (Graph graph) {
+	private final ReadOnlyGraph graph;
+	private final boolean directionOptimizing;
+	// sum of the degrees of all the vertices
+	private final long totalDegree;
+	private final int[] parents;
+	// index of the arc from the parent in the adjacency of the parent,
+	// or -2 - index of the arc toward the parent in the adjacency of the vertex, if reached bottom-up
+	private final int[] parentIndices;
+	private final int[] distances;
+	private final int[] order;
+	private final int[] stamps;
+	private final BitSet frontier;
+	private int epoch;
+	private int reachedCount;
+
+	public BreadthFirstSearch(ReadOnlyGraph graph) {
+		this(graph, true);
+	}
+
+	/**
+	 * Creates a search bound to a graph, which must not change afterward.
+	 *
+	 * @param graph The graph to traverse.
+	 * @param directionOptimizing If false, or if the graph is not symmetric, every level is explored top-down,
+	 *                            as in the classic search.
+	 */
+	public BreadthFirstSearch(ReadOnlyGraph graph, boolean directionOptimizing) {
 		this.graph = graph;
-		this.frontier = new LinkedList<>();
-		this.tree = new ArrayList<>();
-		this.reached = new BitSet(graph.order());
+		this.directionOptimizing = directionOptimizing && graph.isSymmetric();
+		long degreeSum = 0;
+		for (int vertex = 0; vertex < graph.order(); vertex++) {
+			degreeSum += graph.degree(vertex);
+		}
+		this.totalDegree = degreeSum;
+		this.frontier = new BitSet(graph.order());
+		this.parents = new int[graph.order()];
+		this.parentIndices = new int[graph.order()];
+		this.distances = new int[graph.order()];
+		this.order = new int[graph.order()];
+		this.stamps = new int[graph.order()];
+		this.epoch = 0;
+		this.reachedCount = 0;
 	}
 
 	/**
 	 * Generates a spanning tree of the graph starting from the specified root vertex using breadth-first search (BFS).
-	 * The tree consists of the edges traversed during BFS.
+	 * The tree consists of the edges traversed during BFS, between vertices of the graph.
 	 *
 	 * @param graph The graph to traverse.
-	 * @param root The root vertex from which BFS starts.
+	 * @param root The root vertex from which BFS starts, an active vertex of the graph.
 	 * @return A list of directed edges representing the BFS tree.
 	 */
 	public static ArrayList<DirectedEdge> generateTree(Graph graph, int root) {
+		CsrGraph csrGraph = graph.freeze();
+		ArrayList<DirectedEdge> tree = new ArrayList<>();
+		for (int arc : generateTree(csrGraph, csrGraph.vertexOfLabel(root))) {
+			tree.add(csrGraph.toLabeledDirectedEdge(arc));
+		}
+		return tree;
+	}
+
+	/**
+	 * Generates a spanning tree of the CSR snapshot of a graph starting from the specified root vertex
+	 * using breadth-first search (BFS).
+	 * The tree consists of the arcs traversed during BFS, oriented from the root.
+	 *
+	 * @param graph The CSR snapshot of the graph to traverse.
+	 * @param root The root vertex from which BFS starts.
+	 * @return The encoded arcs of the BFS tree (see {@link EdgeTable}), in BFS order.
+	 */
+	public static int[] generateTree(CsrGraph graph, int root) {
 		BreadthFirstSearch breadthFirstSearch = new BreadthFirstSearch(graph);
-		breadthFirstSearch.execute(root);
-		return breadthFirstSearch.getTree();
+		int reachedCount = breadthFirstSearch.search(root);
+		int[] tree = new int[reachedCount - 1];
+		for (int index = 1; index < reachedCount; index++) {
+			int vertex = breadthFirstSearch.vertexAt(index);
+			int parentIndex = breadthFirstSearch.parentIndices[vertex];
+			tree[index - 1] = parentIndex >= 0
+					? graph.arc(breadthFirstSearch.parent(vertex), parentIndex)
+					: EdgeTable.reverse(graph.arc(vertex, -2 - parentIndex));
+		}
+		return tree;
+	}
+
+	/**
+	 * Computes the parent of every vertex in the breadth-first search tree of a graph.
+	 *
+	 * @param graph The graph to traverse.
+	 * @param root The root vertex from which BFS starts.
+	 * @return An array whose i-th value is the parent of vertex i, -1 for the root and for the unreachable vertices.
+	 */
+	public static int[] generateParents(ReadOnlyGraph graph, int root) {
+		BreadthFirstSearch breadthFirstSearch = new BreadthFirstSearch(graph);
+		breadthFirstSearch.search(root);
+		return breadthFirstSearch.getParents();
 	}
 
 	/**
-	 * Executes the breadth-first search algorithm starting from the specified vertex.
-	 * It explores all reachable vertices and builds the BFS tree.
+	 * Executes the breadth-first search algorithm starting from the specified vertex,
+	 * forgetting the previous search. It explores all reachable vertices, level by level.
+	 * The vertices of a level are contiguous in the visit order, which is the queue of the search.
 	 *
-	 * @param startingVertex The vertex from which BFS starts.
+	 * @param root The vertex from which BFS starts.
+	 * @return The number of reached vertices, root included.
 	 */
-	private void execute(int startingVertex) {
-		getReached().set(startingVertex);
-		push(startingVertex);
-		while (!getFrontier().isEmpty()) {
-			explore(getFrontier().poll());
+	public int search(int root) {
+		reset();
+		reach(root, -1, -1, 0);
+		order[0] = root;
+		int levelStart = 0;
+		int levelEnd = 1;
+		long frontierDegree = getGraph().degree(root);
+		long unreachedDegree = totalDegree - frontierDegree;
+		boolean bottomUp = false;
+		int previousFrontierSize = 0;
+		for (int level = 0; levelStart < levelEnd; level++) {
+			int frontierSize = levelEnd - levelStart;
+			if (directionOptimizing) {
+				if (!bottomUp) {
+					bottomUp = frontierSize > previousFrontierSize && frontierDegree > unreachedDegree / ALPHA;
+				} else {
+					bottomUp = frontierSize >= previousFrontierSize || frontierSize >= getGraph().order() / BETA;
+				}
+			}
+			previousFrontierSize = frontierSize;
+			int tail = bottomUp
+					? exploreBottomUp(levelStart, levelEnd, level)
+					: exploreTopDown(levelStart, levelEnd, level);
+
+			frontierDegree = 0;
+			for (int index = levelEnd; index < tail; index++) {
+				frontierDegree += getGraph().degree(order[index]);
+			}
+			unreachedDegree -= frontierDegree;
+			levelStart = levelEnd;
+			levelEnd = tail;
 		}
+		reachedCount = levelEnd;
+		return reachedCount;
 	}
 
 	/**
-	 * Adds all outgoing edges from the specified vertex to the frontier (queue).
+	 * Reaches the next level from every vertex of the frontier, by scanning all the arcs leaving it.
 	 *
-	 * @param vertex The vertex whose outgoing edges are added to the frontier.
+	 * @param levelStart The rank of the first vertex of the frontier in the visit order.
+	 * @param levelEnd The rank following the last vertex of the frontier, where the next level starts.
+	 * @param level The distance from the root to the frontier.
+	 * @return The rank following the last vertex of the next level.
 	 */
-	private void push(int vertex) {
-		for (DirectedEdge directedEdge : getGraph().outEdges(vertex)) getFrontier().offer(directedEdge);
+	private int exploreTopDown(int levelStart, int levelEnd, int level) {
+		int tail = levelEnd;
+		for (int head = levelStart; head < levelEnd; head++) {
+			int vertex = order[head];
+			int degree = getGraph().degree(vertex);
+			for (int index = 0; index < degree; index++) {
+				int neighbor = getGraph().neighbor(vertex, index);
+				if (isReached(neighbor)) continue;
+				reach(neighbor, vertex, index, level + 1);
+				order[tail++] = neighbor;
+			}
+		}
+		return tail;
 	}
 
 	/**
-	 * Explores the next directed edge by marking its destination as reached
-	 * and adding the edge to the BFS tree if the destination has not been visited.
+	 * Reaches the next level from every unreached vertex, by scanning its arcs until one enters the frontier.
+	 * The next level is queued in increasing vertex order.
 	 *
-	 * @param nextDirectedEdge The directed edge to explore.
+	 * @param levelStart The rank of the first vertex of the frontier in the visit order.
+	 * @param levelEnd The rank following the last vertex of the frontier, where the next level starts.
+	 * @param level The distance from the root to the frontier.
+	 * @return The rank following the last vertex of the next level.
 	 */
-	private void explore(DirectedEdge nextDirectedEdge) {
-		if (getReached().get(nextDirectedEdge.getDestination())) return;
-		getReached().set(nextDirectedEdge.getDestination());
-		getTree().add(nextDirectedEdge);
-		push(nextDirectedEdge.getDestination());
+	private int exploreBottomUp(int levelStart, int levelEnd, int level) {
+		frontier.clear();
+		for (int index = levelStart; index < levelEnd; index++) {
+			frontier.set(order[index]);
+		}
+		int tail = levelEnd;
+		for (int vertex = 0; vertex < getGraph().order(); vertex++) {
+			if (isReached(vertex)) continue;
+			int degree = getGraph().degree(vertex);
+			for (int index = 0; index < degree; index++) {
+				int neighbor = getGraph().neighbor(vertex, index);
+				if (!frontier.get(neighbor)) continue;
+				reach(vertex, neighbor, -2 - index, level + 1);
+				order[tail++] = vertex;
+				break;
+			}
+		}
+		return tail;
 	}
 
-	public Graph getGraph() {
-		return graph;
+	/**
+	 * Starts a new epoch, so that no vertex is reached anymore.
+	 * The stamps are only cleared when the epoch counter overflows.
+	 */
+	private void reset() {
+		if (epoch == Integer.MAX_VALUE) {
+			Arrays.fill(stamps, 0);
+			epoch = 0;
+		}
+		epoch++;
+		reachedCount = 0;
 	}
 
-	private BitSet getReached() {
-		return reached;
+	/**
+	 * Marks a vertex as reached by the current search.
+	 *
+	 * @param vertex The reached vertex.
+	 * @param parent The vertex it is reached from, -1 for the root.
+	 * @param parentIndex The index of the arc toward the vertex in the adjacency of the parent, -1 for the root,
+	 *                    or -2 - the index of the arc toward the parent in the adjacency of the vertex.
+	 * @param distance The distance from the root.
+	 */
+	private void reach(int vertex, int parent, int parentIndex, int distance) {
+		stamps[vertex] = epoch;
+		parents[vertex] = parent;
+		parentIndices[vertex] = parentIndex;
+		distances[vertex] = distance;
 	}
 
-	private ArrayList<DirectedEdge> getTree() {
-		return tree;
+	/**
+	 * Checks if a vertex has been reached by the last search.
+	 *
+	 * @param vertex The vertex.
+	 * @return true if the vertex is connected to the root of the last search.
+	 */
+	public boolean isReached(int vertex) {
+		return stamps[vertex] == epoch;
 	}
 
-	private Queue<DirectedEdge> getFrontier() {
-		return frontier;
+	/**
+	 * Returns the parent of a vertex in the tree of the last search.
+	 *
+	 * @param vertex The vertex.
+	 * @return The parent of the vertex, -1 for the root and for the unreached vertices.
+	 */
+	public int parent(int vertex) {
+		return isReached(vertex) ? parents[vertex] : -1;
+	}
+
+	/**
+	 * Returns the distance from the root of the last search to a vertex.
+	 *
+	 * @param vertex The vertex.
+	 * @return The number of edges of a shortest path from the root, -1 for the unreached vertices.
+	 */
+	public int distance(int vertex) {
+		return isReached(vertex) ? distances[vertex] : -1;
+	}
+
+	/**
+	 * Returns the vertex visited at the given rank by the last search, the root having rank 0.
+	 * The distances from the root are non-decreasing along the visit order.
+	 *
+	 * @param index The rank of the vertex, in [0, reachedCount()).
+	 * @return The vertex visited at this rank.
+	 */
+	public int vertexAt(int index) {
+		return order[index];
+	}
+
+	/**
+	 * Returns the parent of every vertex in the tree of the last search.
+	 *
+	 * @return A new array whose i-th value is the parent of vertex i, -1 for the root and for the unreached vertices.
+	 */
+	public int[] getParents() {
+		int[] result = new int[parents.length];
+		for (int vertex = 0; vertex < result.length; vertex++) {
+			result[vertex] = parent(vertex);
+		}
+		return result;
+	}
+
+	public int reachedCount() {
+		return reachedCount;
+	}
+
+	public ReadOnlyGraph getGraph() {
+		return graph;
 	}
 }
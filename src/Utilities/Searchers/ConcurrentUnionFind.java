@@ -0,0 +1,167 @@
+package Utilities.Searchers;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+
+/**
+ * Thread-safe and lock-free union-find.
+ * Parents are stored in an AtomicIntegerArray and every modification is a compare-and-set,
+ * so several threads can call find and union concurrently.
+ * Roots are linked by randomized priorities (a hash of the vertex and of a seed): the root with the
+ * lower priority is attached to the other one, which keeps the expected depth logarithmic without ranks.
+ */
+public class ConcurrentUnionFind {
+    private final AtomicIntegerArray parents;
+    private final LongAdder unionCount;
+    private final long seed;
+
+    public ConcurrentUnionFind(int size) {
+        this(size, System.nanoTime());
+    }
+
+    public ConcurrentUnionFind(int size, long seed) {
+        this.parents = new AtomicIntegerArray(size);
+        this.unionCount = new LongAdder();
+        this.seed = seed;
+
+        for (int index = 0; index < size; index++) {
+            getParents().set(index, index);
+        }
+    }
+
+    /**
+     * Resets every vertex to a singleton set, in parallel.
+     * Must not be called while other operations are running.
+     */
+    public void reset() {
+        IntStream.range(0, getParents().length()).parallel().forEach(vertex -> getParents().set(vertex, vertex));
+        getUnionCount().reset();
+    }
+
+    /**
+     * Finds the root of the set containing the given vertex with path halving.
+     * A failed compare-and-set only means that another thread changed the path, it is simply ignored.
+     *
+     * @param vertex The vertex to find the root for.
+     * @return The root of the set containing the vertex at some point during the call.
+     */
+    public int find(int vertex) {
+        int parent = getParents().get(vertex);
+        while (parent != vertex) {
+            int grandParent = getParents().get(parent);
+            if (grandParent != parent) {
+                getParents().compareAndSet(vertex, parent, grandParent);
+            }
+            vertex = grandParent;
+            parent = getParents().get(vertex);
+        }
+        return vertex;
+    }
+
+    /**
+     * Unites the sets containing two vertices.
+     * The root with the lower priority is linked under the other one with a compare-and-set,
+     * and the operation is retried if that root was linked by another thread in the meantime.
+     *
+     * @param firstVertex  The first vertex to union.
+     * @param secondVertex The second vertex to union.
+     * @return True if this call united the sets, false if the vertices were already in the same set.
+     */
+    public boolean union(int firstVertex, int secondVertex) {
+        while (true) {
+            int firstRoot = find(firstVertex);
+            int secondRoot = find(secondVertex);
+            if (firstRoot == secondRoot) {
+                return false;
+            }
+            if (hasLowerPriority(secondRoot, firstRoot)) {
+                int root = firstRoot;
+                firstRoot = secondRoot;
+                secondRoot = root;
+            }
+            if (getParents().compareAndSet(firstRoot, firstRoot, secondRoot)) {
+                getUnionCount().increment();
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Checks if two vertices are in the same set.
+     * The answer is exact if no union is running concurrently.
+     *
+     * @param firstVertex  The first vertex.
+     * @param secondVertex The second vertex.
+     * @return True if the vertices are in the same set, false otherwise.
+     */
+    public boolean connected(int firstVertex, int secondVertex) {
+        while (true) {
+            int firstRoot = find(firstVertex);
+            int secondRoot = find(secondVertex);
+            if (firstRoot == secondRoot) {
+                return true;
+            }
+            // if firstRoot is still a root, the two vertices were in different sets at that moment
+            if (getParents().get(firstRoot) == firstRoot) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Returns the number of disjoint sets.
+     * The answer is exact if no union is running concurrently.
+     *
+     * @return The number of sets.
+     */
+    public int componentCount() {
+        return getParents().length() - getUnionCount().intValue();
+    }
+
+    /**
+     * Labels every vertex with the root of its set, in parallel.
+     * Must not be called while unions are running.
+     *
+     * @return An array whose i-th value is the root of the set of vertex i.
+     */
+    public int[] componentLabels() {
+        int[] labels = new int[getParents().length()];
+        IntStream.range(0, labels.length).parallel().forEach(vertex -> labels[vertex] = find(vertex));
+        return labels;
+    }
+
+    /**
+     * Compares the randomized priorities of two vertices, ties being broken by vertex index.
+     *
+     * @param firstVertex  The first vertex.
+     * @param secondVertex The second vertex.
+     * @return True if the first vertex has the lower priority.
+     */
+    private boolean hasLowerPriority(int firstVertex, int secondVertex) {
+        int firstPriority = priority(firstVertex);
+        int secondPriority = priority(secondVertex);
+        return firstPriority < secondPriority || (firstPriority == secondPriority && firstVertex < secondVertex);
+    }
+
+    /**
+     * Returns the randomized priority of a vertex, a hash of the vertex and of the seed (finalizer of MurmurHash3).
+     *
+     * @param vertex The vertex.
+     * @return Its priority.
+     */
+    private int priority(int vertex) {
+        long hash = seed + vertex;
+        hash = (hash ^ (hash >>> 33)) * 0xff51afd7ed558ccdL;
+        hash = (hash ^ (hash >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return (int) (hash ^ (hash >>> 33));
+    }
+
+    private AtomicIntegerArray getParents() {
+        return parents;
+    }
+
+    private LongAdder getUnionCount() {
+        return unionCount;
+    }
+}
@@ -0,0 +1,182 @@
+package Utilities.Searchers;
+
+import java.util.Arrays;
+
+/**
+ * Indexed min-heap of the elements [0, capacity), ordered by a double key, with decrease-key.
+ * Every node has d children, which makes the heap shallower than a binary heap:
+ * decrease-key, the most frequent operation of Prim's and Dijkstra's algorithms, only sifts up, in O(log_d n).
+ * The heap, the position of every element and the keys are stored in primitive arrays.
+ */
+public class IndexedDaryHeap {
+    private static final int ABSENT = -1;
+
+    private final int arity;
+    private final int[] heap;
+    private final int[] positions;
+    private final double[] keys;
+    private int size;
+
+    /**
+     * Creates an empty heap.
+     *
+     * @param capacity The number of elements, which are the integers in [0, capacity).
+     * @param arity    The number of children of every node, at least 2.
+     */
+    public IndexedDaryHeap(int capacity, int arity) {
+        this.arity = arity;
+        this.heap = new int[capacity];
+        this.positions = new int[capacity];
+        this.keys = new double[capacity];
+        this.size = 0;
+        Arrays.fill(positions, ABSENT);
+    }
+
+    /**
+     * Removes every element from the heap, in time proportional to its size.
+     */
+    public void clear() {
+        for (int index = 0; index < size; index++) {
+            getPositions()[getHeap()[index]] = ABSENT;
+        }
+        size = 0;
+    }
+
+    /**
+     * Checks if the element is in the heap.
+     *
+     * @param element The element, in [0, capacity).
+     * @return True if the element is in the heap.
+     */
+    public boolean contains(int element) {
+        return getPositions()[element] != ABSENT;
+    }
+
+    /**
+     * Inserts an element which is not in the heap.
+     *
+     * @param element The element, in [0, capacity).
+     * @param key     Its key.
+     */
+    public void insert(int element, double key) {
+        getKeys()[element] = key;
+        siftUp(element, size++);
+    }
+
+    /**
+     * Lowers the key of an element of the heap.
+     *
+     * @param element The element, in the heap.
+     * @param key     Its new key, which must not be greater than the current one.
+     */
+    public void decreaseKey(int element, double key) {
+        getKeys()[element] = key;
+        siftUp(element, getPositions()[element]);
+    }
+
+    /**
+     * Returns the key of an element. It stays available after the element has been polled,
+     * until the element is inserted again.
+     *
+     * @param element The element, in [0, capacity).
+     * @return Its last key.
+     */
+    public double key(int element) {
+        return getKeys()[element];
+    }
+
+    /**
+     * Returns the element with the minimum key, without removing it.
+     *
+     * @return The element with the minimum key.
+     */
+    public int peek() {
+        return getHeap()[0];
+    }
+
+    /**
+     * Removes the element with the minimum key.
+     *
+     * @return The removed element.
+     */
+    public int poll() {
+        int minimum = getHeap()[0];
+        getPositions()[minimum] = ABSENT;
+        int last = getHeap()[--size];
+        if (size > 0) {
+            siftDown(last, 0);
+        }
+        return minimum;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Moves an element up from the given position, until its parent has a key lower than or equal to its own.
+     *
+     * @param element  The element to place.
+     * @param position The position to start from, whose content is overwritten.
+     */
+    private void siftUp(int element, int position) {
+        double key = getKeys()[element];
+        while (position > 0) {
+            int parentPosition = (position - 1) / arity;
+            int parent = getHeap()[parentPosition];
+            if (getKeys()[parent] <= key) break;
+            place(parent, position);
+            position = parentPosition;
+        }
+        place(element, position);
+    }
+
+    /**
+     * Moves an element down from the given position, until all its children have a key greater than or equal to its own.
+     *
+     * @param element  The element to place.
+     * @param position The position to start from, whose content is overwritten.
+     */
+    private void siftDown(int element, int position) {
+        double key = getKeys()[element];
+        int firstChild;
+        while ((firstChild = arity * position + 1) < size) {
+            int minimumChild = firstChild;
+            int lastChild = Math.min(firstChild + arity, size);
+            for (int child = firstChild + 1; child < lastChild; child++) {
+                if (getKeys()[getHeap()[child]] < getKeys()[getHeap()[minimumChild]]) minimumChild = child;
+            }
+            if (getKeys()[getHeap()[minimumChild]] >= key) break;
+            place(getHeap()[minimumChild], position);
+            position = minimumChild;
+        }
+        place(element, position);
+    }
+
+    /**
+     * Stores an element at a position of the heap and records this position.
+     *
+     * @param element  The element.
+     * @param position Its new position.
+     */
+    private void place(int element, int position) {
+        getHeap()[position] = element;
+        getPositions()[element] = position;
+    }
+
+    private int[] getHeap() {
+        return heap;
+    }
+
+    private int[] getPositions() {
+        return positions;
+    }
+
+    private double[] getKeys() {
+        return keys;
+    }
+}
@@ -1,38 +1,80 @@
 package Utilities.Searchers;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
 
 public class UnionFind {
-    private final List<Integer> parents;
-    private final List<Integer> ranks;
+    private final int[] parents;
+    private final int[] sizes;
+    private int componentCount;
+
+    // An element is only valid if its stamp equals the current epoch,
+    // otherwise it is considered as a singleton: reset() just starts a new epoch.
+    private final int[] stamps;
+    private int epoch;
 
     public UnionFind(int size) {
-        parents = new ArrayList<>(size);
-        ranks = new ArrayList<>(size);
+        parents = new int[size];
+        sizes = new int[size];
+        stamps = new int[size];
+        epoch = 0;
+        componentCount = size;
 
         for (int index = 0; index < size; index++) {
-            getParents().add(index);
-            getRanks().add(0);
+            getParents()[index] = index;
+            getSizes()[index] = 1;
+        }
+    }
+
+    /**
+     * Resets the structure to singletons in constant time, by starting a new epoch.
+     * The elements are reinitialized lazily, the first time they are accessed during the new epoch.
+     */
+    public void reset() {
+        if (epoch == Integer.MAX_VALUE) {
+            Arrays.fill(stamps, -1);
+            epoch = 0;
+        } else {
+            epoch++;
+        }
+        componentCount = getParents().length;
+    }
+
+    /**
+     * Reinitializes the given element as a singleton if it has not been accessed during the current epoch.
+     * The parent of an element accessed during the epoch has been accessed too, so only the starting
+     * element of a path needs to be checked.
+     *
+     * @param vertex The element to check.
+     */
+    private void ensureCurrent(int vertex) {
+        if (stamps[vertex] != epoch) {
+            stamps[vertex] = epoch;
+            getParents()[vertex] = vertex;
+            getSizes()[vertex] = 1;
         }
     }
 
     /**
-     * Finds the root of the set containing the given vertex with path compression.
-     * Optimizes the Union-Find structure by making nodes point directly to the root.
+     * Finds the root of the set containing the given vertex with path halving.
+     * Iteratively makes every other node of the path point to its grandparent,
+     * so long chains do not overflow the stack.
      *
      * @param vertex The vertex to find the root for.
      * @return The root of the set containing the vertex.
      */
     public int find(int vertex) {
-        if (!getParents().get(vertex).equals(vertex)) {
-            getParents().set(vertex, find(getParents().get(vertex)));
+        ensureCurrent(vertex);
+        int[] parents = getParents();
+        while (parents[vertex] != vertex) {
+            parents[vertex] = parents[parents[vertex]];
+            vertex = parents[vertex];
         }
-        return getParents().get(vertex);
+        return vertex;
     }
 
     /**
-     * Unites the sets containing two vertices, using union by rank to keep the structure balanced.
+     * Unites the sets containing two vertices, using union by size to keep the structure balanced:
+     * the root of the smaller set is attached to the root of the larger one.
      *
      * @param firstVertex  The first vertex to union.
      * @param secondVertex The second vertex to union.
@@ -47,22 +89,67 @@ public class UnionFind {
             return false;
         }
 
-        if (getRanks().get(rootToFirstVertex) > getRanks().get(rootToSecondVertex)) {
-            getParents().set(rootToSecondVertex, rootToFirstVertex);
-        } else if (getRanks().get(rootToFirstVertex) < getRanks().get(rootToSecondVertex)) {
-            getParents().set(rootToFirstVertex, rootToSecondVertex);
-        } else {
-            getParents().set(rootToSecondVertex, rootToFirstVertex);
-            getRanks().set(rootToFirstVertex, getRanks().get(rootToFirstVertex) + 1);
+        if (getSizes()[rootToFirstVertex] < getSizes()[rootToSecondVertex]) {
+            int root = rootToFirstVertex;
+            rootToFirstVertex = rootToSecondVertex;
+            rootToSecondVertex = root;
         }
+        getParents()[rootToSecondVertex] = rootToFirstVertex;
+        getSizes()[rootToFirstVertex] += getSizes()[rootToSecondVertex];
+        componentCount--;
         return true;
     }
 
-    private List<Integer> getRanks() {
-        return ranks;
+    /**
+     * Checks if two vertices are in the same set.
+     *
+     * @param firstVertex  The first vertex.
+     * @param secondVertex The second vertex.
+     * @return True if the vertices are in the same set, false otherwise.
+     */
+    public boolean connected(int firstVertex, int secondVertex) {
+        return find(firstVertex) == find(secondVertex);
+    }
+
+    /**
+     * Checks for every pair (firstVertices[i], secondVertices[i]) if its vertices are in the same set.
+     *
+     * @param firstVertices  The first vertex of every pair.
+     * @param secondVertices The second vertex of every pair.
+     * @return An array whose i-th value is true if the vertices of the i-th pair are in the same set.
+     */
+    public boolean[] connected(int[] firstVertices, int[] secondVertices) {
+        boolean[] connected = new boolean[firstVertices.length];
+        for (int index = 0; index < firstVertices.length; index++) {
+            connected[index] = connected(firstVertices[index], secondVertices[index]);
+        }
+        return connected;
+    }
+
+    /**
+     * Returns the number of elements in the set containing the given vertex.
+     *
+     * @param vertex The vertex.
+     * @return The size of its set.
+     */
+    public int componentSize(int vertex) {
+        return getSizes()[find(vertex)];
+    }
+
+    /**
+     * Returns the number of disjoint sets, maintained at each successful union.
+     *
+     * @return The number of sets.
+     */
+    public int componentCount() {
+        return componentCount;
+    }
+
+    private int[] getSizes() {
+        return sizes;
     }
 
-    private List<Integer> getParents() {
+    private int[] getParents() {
         return parents;
     }
 }
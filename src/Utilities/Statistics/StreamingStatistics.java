@@ -0,0 +1,159 @@
+package Utilities.Statistics;
+
+/**
+ * Mergeable summary of a stream of non-negative values, in constant memory.
+ * The mean and the variance are updated with Welford's algorithm and merged with the formula of Chan et al.,
+ * which stay accurate where sums of squares would cancel out.
+ * Quantiles are read from a log-bucket histogram: a bucket holds the values sharing their binary exponent
+ * and the first SUB_BUCKET_BITS bits of their mantissa, so a quantile is known within a relative error of
+ * 2^-(SUB_BUCKET_BITS + 1), clamped to the exact min and max.
+ * Merging two summaries gives the summary of the concatenated streams, so every thread can fill its own summaries
+ * without contention and merge them at the end.
+ */
+public class StreamingStatistics {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    // values below 2^MIN_EXPONENT share the first bucket, values from 2^MAX_EXPONENT share the last one
+    private static final int MIN_EXPONENT = -10;
+    private static final int MAX_EXPONENT = 50;
+    private static final int BUCKETS = (MAX_EXPONENT - MIN_EXPONENT) * SUB_BUCKETS + 2;
+
+    private final long[] buckets = new long[BUCKETS];
+    private long count;
+    private double mean;
+    // sum of the squared deviations from the mean
+    private double squaredDeviations;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    /**
+     * Adds a value to the summary.
+     *
+     * @param value the new value, non-negative.
+     */
+    public void add(double value) {
+        count++;
+        double delta = value - mean;
+        mean += delta / count;
+        squaredDeviations += delta * (value - mean);
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+        buckets[bucket(value)]++;
+    }
+
+    /**
+     * Adds the values summarized by another summary to this one.
+     *
+     * @param other the summary to merge, left unchanged.
+     */
+    public void merge(StreamingStatistics other) {
+        if (other.count == 0) return;
+        long total = count + other.count;
+        double delta = other.mean - mean;
+        mean += delta * other.count / total;
+        squaredDeviations += other.squaredDeviations + delta * delta * ((double) count * other.count / total);
+        count = total;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            buckets[bucket] += other.buckets[bucket];
+        }
+    }
+
+    /**
+     * Returns the unbiased estimate of the variance of the values.
+     *
+     * @return the sample variance, 0 if there are less than two values.
+     */
+    public double variance() {
+        return count < 2 ? 0 : squaredDeviations / (count - 1);
+    }
+
+    public double standardDeviation() {
+        return Math.sqrt(variance());
+    }
+
+    /**
+     * Returns the standard error of the mean, the standard deviation of the mean of count independent values.
+     *
+     * @return the standard error of the mean.
+     */
+    public double standardError() {
+        return count == 0 ? 0 : Math.sqrt(variance() / count);
+    }
+
+    /**
+     * Returns the half width of the normal confidence interval of the mean at 95%.
+     *
+     * @return 1.96 times the standard error.
+     */
+    public double confidenceRadius() {
+        return 1.96 * standardError();
+    }
+
+    /**
+     * Approximates a quantile of the values by the middle of the bucket containing it.
+     * The extreme quantiles are the exact min and max.
+     *
+     * @param fraction the fraction of the values below the quantile, in [0, 1]: 0.5 for the median.
+     * @return the approximate quantile, within [min, max], or NaN if there are no values.
+     */
+    public double quantile(double fraction) {
+        if (count == 0) return Double.NaN;
+        long rank = (long) Math.floor(fraction * (count - 1));
+        if (rank <= 0) return min;
+        if (rank >= count - 1) return max;
+        long seen = 0;
+        int bucket = 0;
+        while (seen + buckets[bucket] <= rank) seen += buckets[bucket++];
+        return Math.max(min, Math.min(max, middle(bucket)));
+    }
+
+    /**
+     * Returns the bucket of a value, from its binary exponent and the first bits of its mantissa.
+     * Both are read from the bit pattern of the double, whose order is the order of the non-negative values.
+     *
+     * @param value a non-negative value.
+     * @return the index of its bucket.
+     */
+    private static int bucket(double value) {
+        if (!(value >= Math.scalb(1.0, MIN_EXPONENT))) return 0;
+        if (value >= Math.scalb(1.0, MAX_EXPONENT)) return BUCKETS - 1;
+        long bits = Double.doubleToRawLongBits(value);
+        int exponent = (int) (bits >>> 52) - 1023;
+        int subBucket = (int) (bits >>> (52 - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return 1 + (exponent - MIN_EXPONENT) * SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * Returns the middle of the values of a bucket.
+     * The first and last buckets are unbounded, their values are clamped to min and max by the caller.
+     *
+     * @param bucket the index of the bucket.
+     * @return the middle of the bucket.
+     */
+    private static double middle(int bucket) {
+        if (bucket == 0) return 0;
+        if (bucket == BUCKETS - 1) return Double.POSITIVE_INFINITY;
+        int exponent = (bucket - 1) / SUB_BUCKETS + MIN_EXPONENT;
+        int subBucket = (bucket - 1) % SUB_BUCKETS;
+        return Math.scalb(1.0 + (subBucket + 0.5) / SUB_BUCKETS, exponent);
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public double mean() {
+        return mean;
+    }
+
+    public double min() {
+        return min;
+    }
+
+    public double max() {
+        return max;
+    }
+}
@@ -117,7 +117,7 @@ public class Labyrinth extends JPanel {
 				drawVerticalEdge(g, e);
 			}
 		}
-		for (int i = 0; i < getGrid().getGraph().order(); i++) {
+		for (int i = 0; i < getGrid().order(); i++) {
 			drawVertex(g, i);
 		}
 		if (getTree() != null) drawRoot(g, getTree().getRoot());
@@ -1,183 +1,234 @@
 package Utilities.TreeAnalyzers;
 
-import Graph.DirectedEdge;
+import Graph.CsrGraph;
 import Graph.NonDirectedEdge;
-import Graph.Graph;
 import Utilities.Searchers.BreadthFirstSearch;
 
-import java.util.*;
+import java.util.ArrayList;
+import java.util.Arrays;
 
 public class RootedTree {
 
-	// to write recursive algorithms without recursion
-	private final ArrayList<RootedTreeNode> inverseBfsOrder;
-	private final ArrayList<RootedTreeNode> bfsOrder;
-
-	private final RootedTreeNode[] rootedTreeNodes;
-	private RootedTreeNode root;
 	private final int order;
+	private int root;
+
+	// the father of every vertex, -1 for the root
+	private final int[] parents;
+	// the sons of vertex v are children[childOffsets[v]] to children[childOffsets[v + 1] - 1]
+	private final int[] childOffsets;
+	private final int[] children;
+	// to write recursive algorithms without recursion, the inverse bfs order is bfsOrder read backward
+	private final int[] bfsOrder;
+
+	private final int[] heights;
+	private final int[] sizes;
+	private final int[] depths;
+	private final int[] eccentricities;
+	// the one or two vertices of minimum eccentricity
+	private int[] centers;
 
 	// Building the tree from list of arcs.
 	// We want the center of the tree as root.
-	// 1) createTree: Gets a tree encoded in the RootedTreeNode structure.
-	//    This is done by using bfs algorithm on the graph of nonDirectedEdges.
-	//    From the bfs list of arcs, creates each node and attach it to father
-	//    Stores each node in an array indexed by vertices.
-	// 2) Computes the height of every node, in inverse bfs order.
-	// 3) rerootTree: Moves root toward center.
-	//    the two highest sons must have almost the same height.
-	//    it detects if it is balanced,
-	//    and if not moves the root to the highest son (swapRootWith)
-	// 4) resetBfsOrdering : recomputes bfs and inverse bfs order.
-	//    this time, a bfs on the node structure is enough
-	// 5) Computes height, size and depth of every node.
+	// 1) Orients the tree: a bfs on the CSR graph of nonDirectedEdges gives the father of every vertex.
+	// 2) linkChildren: Gets the sons of every vertex, stored contiguously in a single array.
+	//    resetBfsOrdering: computes the bfs order from the root.
+	// 3) Computes the height of every vertex, in inverse bfs order.
+	// 4) computeAllEccentricities: gets the exact eccentricity of every vertex, in bfs order,
+	//    from the heights and the longest path leaving each vertex through its father.
+	//    The centers are the vertices of minimum eccentricity.
+	// 5) rerootTree: Moves root to the center, reversing the fathers on the path between them.
+	//    links the sons and recomputes the bfs order again, for the new root.
+	// 6) Computes height, size and depth of every vertex.
 	public RootedTree(ArrayList<NonDirectedEdge> nonDirectedEdges, int root) {
-		this.order = nonDirectedEdges.size() + 1;
-		this.bfsOrder = new ArrayList<>(getOrder());
-		this.inverseBfsOrder = new ArrayList<>(getOrder());
-		this.rootedTreeNodes = new RootedTreeNode[getOrder()];
-		this.root = new RootedTreeNode(root);
-
-		Graph graph = new Graph(getOrder());
-		for (NonDirectedEdge e : nonDirectedEdges) {
-			graph.addEdge(e);
-		}
-
-		createTree(root, BreadthFirstSearch.generateTree(graph, root));
+		this(CsrGraph.fromEdges(nonDirectedEdges.size() + 1, nonDirectedEdges), root);
+	}
 
-		rerootTree();
-		computeAllHeights();
-		computeAllSizes();
-		computeAllDepths();
+	// Same construction, from a tree already given as a CSR graph.
+	public RootedTree(CsrGraph tree, int root) {
+		this(BreadthFirstSearch.generateParents(tree, root));
 	}
 
-	/**
-	 * Creates a tree starting from the given root node by processing a sorted list of directed edges.
-	 * It populates the BFS order and inverse BFS order of rootedTreeNodes.
-	 *
-	 * @param root                The root node for the tree.
-	 * @param sortedDirectedEdges A sorted list of directed edges used to build the tree.
-	 */
-	private void createTree(int root, ArrayList<DirectedEdge> sortedDirectedEdges) {
-		setNode(root, new RootedTreeNode(root));
-		getBfsOrder().add(getNode(root));
-		for (DirectedEdge directedEdge : sortedDirectedEdges) {
-			createNode(directedEdge);
-			getBfsOrder().add(getNode(directedEdge.getDestination()));
-		}
-		getInverseBfsOrder().addAll(getBfsOrder());
-		Collections.reverse(getInverseBfsOrder());
+	// Same construction, from a tree given as the parent of every vertex, -1 for the root.
+	// The array is copied, as rerooting reverses the fathers along a path.
+	public RootedTree(int[] parents) {
+		this.order = parents.length;
+		this.parents = parents.clone();
+		this.childOffsets = new int[getOrder() + 1];
+		this.children = new int[Math.max(0, getOrder() - 1)];
+		this.bfsOrder = new int[getOrder()];
+		this.heights = new int[getOrder()];
+		this.sizes = new int[getOrder()];
+		this.depths = new int[getOrder()];
+		this.eccentricities = new int[getOrder()];
+
+		linkChildren();
+		resetBfsOrdering();
+		analyzeTree();
 	}
 
 	/**
-	 * Creates a new node for the destination vertex of the directed edge and adds it as a child
-	 * to the node corresponding to the source vertex of the edge.
-	 *
-	 * @param directedEdge The directed edge that defines the parent-child relationship between rootedTreeNodes.
+	 * Computes the eccentricity of every vertex and moves the root to the center,
+	 * then computes height, size and depth of every vertex.
 	 */
-	private void createNode(DirectedEdge directedEdge) {
-		int son = directedEdge.getDestination();
-		int father = directedEdge.getSource();
-		setNode(son, new RootedTreeNode(son));
-		getNode(father).getSons().add(getNode(son));
+	private void analyzeTree() {
+		computeAllHeights();
+		computeAllEccentricities();
+		rerootTree(centers[0]);
+		computeAllHeights();
+		computeAllSizes();
+		computeAllDepths();
 	}
 
 	/**
-	 * Reroots the tree by repeatedly swapping the root with the child node having the maximum height
-	 * until the tree is balanced. After the rerooting, it resets the BFS ordering.
+	 * Groups the sons of every vertex contiguously, in increasing order, by a counting sort on the fathers.
+	 * The vertex without father becomes the root.
 	 */
-	private void rerootTree() {
-		computeAllHeights();
-		while (isUnbalanced())
-			swapRootWith(getRootNode().maxHeightSon());
-		resetBfsOrdering();
+	private void linkChildren() {
+		Arrays.fill(childOffsets, 0);
+		for (int vertex = 0; vertex < getOrder(); vertex++) {
+			if (parents[vertex] < 0) setRoot(vertex);
+			else childOffsets[parents[vertex] + 1]++;
+		}
+		for (int vertex = 0; vertex < getOrder(); vertex++) {
+			childOffsets[vertex + 1] += childOffsets[vertex];
+		}
+		// childOffsets[v] serves as the next free slot of v, then is shifted back
+		for (int vertex = 0; vertex < getOrder(); vertex++) {
+			if (parents[vertex] >= 0) children[childOffsets[parents[vertex]]++] = vertex;
+		}
+		for (int vertex = getOrder(); vertex > 0; vertex--) {
+			childOffsets[vertex] = childOffsets[vertex - 1];
+		}
+		childOffsets[0] = 0;
 	}
 
 	/**
-	 * Checks if the tree is unbalanced by comparing the height of the root node with its second maximum height.
-	 * The tree is considered unbalanced if the difference is greater than 2.
-	 *
-	 * @return True if the tree is unbalanced, false otherwise.
+	 * Computes the exact eccentricity of every vertex, by a rerooting dynamic program in BFS order.
+	 * The farthest vertex from a son is either below it, at distance its height,
+	 * or reached through its father, at distance one plus the longest path leaving the father
+	 * by its own father or by another son. The array first holds the latter distance, then the eccentricity.
+	 * Also finds the centers, the first one in BFS order being the closest to the root.
 	 */
-	private boolean isUnbalanced() {
-		return getRootNode().getHeight() > getRootNode().secondMaxHeight() + 2;
+	private void computeAllEccentricities() {
+		eccentricities[getRoot()] = 0;
+		int radius = getOrder();
+		int centerCount = 0;
+		int[] foundCenters = new int[2];
+		for (int vertex : bfsOrder) {
+			int upward = eccentricities[vertex];
+			int maxHeightSon = -1;
+			int maxDownward = 0;
+			int secondMaxDownward = 0;
+			for (int slot = childOffsets[vertex]; slot < childOffsets[vertex + 1]; slot++) {
+				int downward = heights[children[slot]] + 1;
+				if (downward > maxDownward) {
+					secondMaxDownward = maxDownward;
+					maxDownward = downward;
+					maxHeightSon = children[slot];
+				} else if (downward > secondMaxDownward) {
+					secondMaxDownward = downward;
+				}
+			}
+			for (int slot = childOffsets[vertex]; slot < childOffsets[vertex + 1]; slot++) {
+				int son = children[slot];
+				eccentricities[son] = 1 + Math.max(upward, son == maxHeightSon ? secondMaxDownward : maxDownward);
+			}
+			eccentricities[vertex] = Math.max(upward, maxDownward);
+
+			if (eccentricities[vertex] < radius) {
+				radius = eccentricities[vertex];
+				centerCount = 0;
+			}
+			if (eccentricities[vertex] == radius) foundCenters[centerCount++] = vertex;
+		}
+		this.centers = Arrays.copyOf(foundCenters, centerCount);
 	}
 
 	/**
-	 * Swaps the current root node with the given child node (son).
-	 * The current root is removed from its list of children and the height of the new root and old root are recalculated.
-	 * The new root (son) becomes the root of the tree.
+	 * Reroots the tree at the given vertex, by reversing the fathers on the path from the vertex to the root.
+	 * After the rerooting, it relinks the sons and resets the BFS ordering.
 	 *
-	 * @param son The child node to swap with the current root.
+	 * @param newRoot The new root of the tree.
 	 */
-	private void swapRootWith(RootedTreeNode son) {
-		getRootNode().getSons().remove(son);
-		getRootNode().setHeight();
-		son.setHeight(Math.max(getRootNode().getHeight() + 1, son.getHeight()));
-		son.getSons().add(getRootNode());
-		setRootNode(son);
+	private void rerootTree(int newRoot) {
+		if (newRoot == getRoot()) return;
+		int previous = -1;
+		int current = newRoot;
+		while (current >= 0) {
+			int father = parents[current];
+			parents[current] = previous;
+			previous = current;
+			current = father;
+		}
+		linkChildren();
+		resetBfsOrdering();
 	}
 
 	/**
-	 * Resets the BFS ordering of the tree by performing a breadth-first traversal starting from the root node.
-	 * The BFS order is stored in `bfsOrder`, and the reverse BFS order is stored in `inverseBfsOrder`.
+	 * Resets the BFS ordering of the tree by performing a breadth-first traversal starting from the root.
+	 * The bfs order array is its own queue.
 	 */
 	private void resetBfsOrdering() {
-		Queue<RootedTreeNode> stack = new LinkedList<>();
-		stack.offer(getRootNode());
-		getBfsOrder().clear();
-		getInverseBfsOrder().clear();
-		RootedTreeNode current;
-		while (!stack.isEmpty()) {
-			current = stack.poll();
-			for (RootedTreeNode son : current.getSons()) stack.offer(son);
-			getBfsOrder().add(current);
-			getInverseBfsOrder().add(current);
+		int tail = 0;
+		bfsOrder[tail++] = getRoot();
+		for (int head = 0; head < tail; head++) {
+			int vertex = bfsOrder[head];
+			for (int slot = childOffsets[vertex]; slot < childOffsets[vertex + 1]; slot++) {
+				bfsOrder[tail++] = children[slot];
+			}
 		}
-		Collections.reverse(getInverseBfsOrder());
 	}
 
 	/**
-	 * Computes the height for all rootedTreeNodes by iterating through the inverse BFS order.
+	 * Computes the height for all vertices by iterating through the inverse BFS order.
 	 */
 	private void computeAllHeights() {
-		for (RootedTreeNode n : getInverseBfsOrder()) n.setHeight();
+		Arrays.fill(heights, 0);
+		for (int index = getOrder() - 1; index > 0; index--) {
+			int vertex = bfsOrder[index];
+			heights[parents[vertex]] = Math.max(heights[parents[vertex]], heights[vertex] + 1);
+		}
 	}
 
 	/**
-	 * Computes the size for all rootedTreeNodes by iterating through the inverse BFS order.
+	 * Computes the size for all vertices by iterating through the inverse BFS order.
 	 */
 	private void computeAllSizes() {
-		for (RootedTreeNode n : getInverseBfsOrder()) n.setSize();
+		Arrays.fill(sizes, 1);
+		for (int index = getOrder() - 1; index > 0; index--) {
+			int vertex = bfsOrder[index];
+			sizes[parents[vertex]] += sizes[vertex];
+		}
 	}
 
 	/**
-	 * Computes the depth for all rootedTreeNodes, starting from the root node with depth 0,
+	 * Computes the depth for all vertices, starting from the root with depth 0,
 	 * and then setting the depth of its descendants by iterating through the BFS order.
 	 */
 	private void computeAllDepths() {
-		getRootNode().setDepth(0);
-		for (RootedTreeNode n : getBfsOrder()) n.setSonsDepth();
+		depths[getRoot()] = 0;
+		for (int index = 1; index < getOrder(); index++) {
+			int vertex = bfsOrder[index];
+			depths[vertex] = depths[parents[vertex]] + 1;
+		}
 	}
 
 	/**
 	 * Calculates the degree distribution of the tree.
-	 * The degree of a node is the number of its neighbors, which for a tree is
-	 * the number of its direct children (sons). The root node's degree is
+	 * The degree of a vertex is the number of its neighbors, which for a tree is
+	 * the number of its direct children (sons). The root's degree is
 	 * counted differently, as it has no parent.
-	 * The method returns the number of rootedTreeNodes for each degree in the range [0, maxDegree].
+	 * The method returns the number of vertices for each degree in the range [0, maxDegree].
 	 *
 	 * @param maxDegree The maximum degree to consider for the distribution.
 	 * @return An array where the index represents the degree, and the value at each index
-	 *         is the count of rootedTreeNodes with that degree. The array is of size maxDegree + 1.
+	 *         is the count of vertices with that degree. The array is of size maxDegree + 1.
 	 */
 	public int[] getDegreeDistribution(int maxDegree) {
 		int maxIndex = Math.min(maxDegree, getOrder() - 1);
 		int[] degrees = new int[1 + maxIndex];
-		for (int i = 0; i <= maxIndex; i++) degrees[i] = 0;
-		int degree;
-		for (RootedTreeNode n : getBfsOrder()) {
-			degree = n.getSons().size() + (n == getRootNode() ? 0 : 1);
+		for (int vertex = 0; vertex < getOrder(); vertex++) {
+			int degree = sonCount(vertex) + (vertex == getRoot() ? 0 : 1);
 			if (degree <= maxIndex)
 				degrees[degree]++;
 		}
@@ -187,16 +238,16 @@ public class RootedTree {
 	/**
 	 * Calculates the Wiener index of the tree.
 	 * The Wiener index is a topological index of a graph, defined as the sum of the shortest path lengths
-	 * between all pairs of rootedTreeNodes. In the case of a tree, it is computed as the sum of the products of the sizes
-	 * of the subtrees of each node (excluding the root node), multiplied by the size of the remaining part of the tree.
+	 * between all pairs of vertices. In the case of a tree, it is computed as the sum of the products of the sizes
+	 * of the subtrees of each vertex (excluding the root), multiplied by the size of the remaining part of the tree.
 	 *
-	 * @return The Wiener index of the tree, which is a long value representing the sum of distances between pairs of rootedTreeNodes.
+	 * @return The Wiener index of the tree, which is a long value representing the sum of distances between pairs of vertices.
 	 */
 	public long getWienerIndex() {
 		long count = 0;
-		for (RootedTreeNode n : getBfsOrder()) {
-			if (n == getRootNode()) continue;
-			count = count + (long) n.getSize() * (getOrder() - n.getSize());
+		for (int vertex = 0; vertex < getOrder(); vertex++) {
+			if (vertex == getRoot()) continue;
+			count = count + (long) sizes[vertex] * (getOrder() - sizes[vertex]);
 		}
 		return count;
 	}
@@ -217,127 +268,165 @@ public class RootedTree {
 	}
 
 	/**
-	 * Prints the details of the node identified by the given vertex index.
+	 * Prints the details of the given vertex including its sons, height, size,
+	 * second maximum height among its sons, and depth.
 	 *
-	 * @param vertex The index of the vertex whose node details are to be printed.
+	 * @param vertex The index of the vertex whose details are to be printed.
 	 */
 	public void printNode(int vertex) {
-		getNode(vertex).print();
+		System.out.print("Vertex " + vertex + ", sons: ");
+		for (int slot = childOffsets[vertex]; slot < childOffsets[vertex + 1]; slot++) {
+			System.out.print(children[slot] + " ");
+		}
+		System.out.println("(height: " + heights[vertex]
+				+ ", size: " + sizes[vertex]
+				+ ", 2nd height: " + secondMaxHeight(vertex)
+				+ ", depth: " + depths[vertex]
+				+ ")");
 	}
 
 	/**
-	 * Prints the details of all rootedTreeNodes in the tree, following the BFS order.
+	 * Prints the details of all vertices in the tree, following the BFS order.
 	 */
 	public void printTree() {
-		for (RootedTreeNode n : getBfsOrder()) n.print();
+		for (int vertex : bfsOrder) printNode(vertex);
 	}
 
 	/**
 	 * Calculates the diameter of the tree.
-	 * The diameter is the longest path between any two rootedTreeNodes in the tree.
-	 * It is approximated by the sum of the height of the root node and its second maximum height.
+	 * The diameter is the longest path between any two vertices in the tree.
+	 * As the root is a center, it is the sum of the height of the root and its second maximum height.
 	 *
 	 * @return The diameter of the tree.
 	 */
 	public int getDiameter() {
-		return getRootNode().getHeight() + getRootNode().secondMaxHeight() + 1;
+		return heights[getRoot()] + secondMaxHeight(getRoot()) + 1;
 	}
 
 	/**
 	 * Calculates the radius of the tree.
-	 * The radius is defined as the shortest distance from the center of the tree to any node.
-	 * It is approximated by the height of the root node.
+	 * The radius is the minimum eccentricity, reached at the centers of the tree.
+	 * As the root is a center, it is the height of the root.
 	 *
 	 * @return The radius of the tree.
 	 */
 	public int getRadius() {
-		return getRootNode().getHeight();
+		return heights[getRoot()];
 	}
 
 	/**
-	 * Calculates the average eccentricity of all rootedTreeNodes in the tree.
-	 * Eccentricity of a node is defined as the greatest distance from the node to any other node in the tree.
-	 * In this case, it is approximated by the depth of each node in the BFS order.
+	 * Calculates the average eccentricity of all vertices in the tree.
+	 * Eccentricity of a vertex is defined as the greatest distance from the vertex to any other vertex in the tree.
 	 *
-	 * @return The average eccentricity of all rootedTreeNodes in the tree.
+	 * @return The average eccentricity of all vertices in the tree.
 	 */
 	public double getAverageEccentricity() {
-		int sumEccentricity = 0;
-		for (RootedTreeNode n : getBfsOrder())
-			sumEccentricity = sumEccentricity + n.getDepth();
+		long sumEccentricity = 0;
+		for (int eccentricity : eccentricities)
+			sumEccentricity = sumEccentricity + eccentricity;
 		return (double) sumEccentricity / (double) getOrder();
 	}
 
 	/**
 	 * Calculates the distance from the center of the tree to the centroid.
-	 * The distance is defined as the depth of the centroid node in the tree.
+	 * The distance is defined as the depth of the centroid in the tree, rooted at a center.
 	 *
-	 * @return The depth of the centroid node, which approximates the distance from the center to the centroid.
+	 * @return The depth of the centroid.
 	 */
 	public int getDistanceFromCenterToCentroid() {
-		return getCentroidNode().getDepth();
+		return depths[getCentroid()];
 	}
 
 	/**
-	 * Finds the centroid node of the tree.
-	 * The centroid is the node such that if it is chosen as the root,
-	 * no subtree of the tree will have more than half of the total number of rootedTreeNodes.
-	 * This is achieved by iteratively selecting the child node with the largest size until the condition is satisfied.
+	 * Finds the centroid of the tree.
+	 * The centroid is the vertex such that if it is chosen as the root,
+	 * no subtree of the tree will have more than half of the total number of vertices.
+	 * This is achieved by iteratively selecting the son with the largest size until the condition is satisfied.
 	 *
-	 * @return The centroid node of the tree.
+	 * @return The centroid of the tree.
 	 */
-	private RootedTreeNode getCentroidNode() {
-		RootedTreeNode centroid = getRootNode();
-		while (centroid.maxSizeSon().getSize() * 2 > getOrder())
-			centroid = centroid.maxSizeSon();
+	public int getCentroid() {
+		int centroid = getRoot();
+		int maxSizeSon = maxSizeSon(centroid);
+		while (maxSizeSon >= 0 && sizes[maxSizeSon] * 2 > getOrder()) {
+			centroid = maxSizeSon;
+			maxSizeSon = maxSizeSon(centroid);
+		}
 		return centroid;
 	}
 
-	private ArrayList<RootedTreeNode> getInverseBfsOrder() {
-		return inverseBfsOrder;
-	}
-
-	private ArrayList<RootedTreeNode> getBfsOrder() {
-		return bfsOrder;
+	/**
+	 * Returns the first son with the maximum size.
+	 *
+	 * @param vertex The vertex whose sons are considered.
+	 * @return The son with the largest size, -1 if the vertex is a leaf.
+	 */
+	private int maxSizeSon(int vertex) {
+		int maxSon = -1;
+		for (int slot = childOffsets[vertex]; slot < childOffsets[vertex + 1]; slot++) {
+			if (maxSon < 0 || sizes[children[slot]] > sizes[maxSon]) maxSon = children[slot];
+		}
+		return maxSon;
 	}
 
-	private RootedTreeNode getNode(int value) {
-		return rootedTreeNodes[value];
+	/**
+	 * Returns the second-largest height among the sons of a vertex, counting equal heights twice.
+	 *
+	 * @param vertex The vertex whose sons are considered.
+	 * @return The second-largest height among the sons, or -1 if the vertex has less than two sons.
+	 */
+	private int secondMaxHeight(int vertex) {
+		int maxHeight = -1;
+		int secondMaxHeight = -1;
+		for (int slot = childOffsets[vertex]; slot < childOffsets[vertex + 1]; slot++) {
+			int height = heights[children[slot]];
+			if (height > secondMaxHeight) {
+				secondMaxHeight = Math.min(maxHeight, height);
+				maxHeight = Math.max(maxHeight, height);
+			}
+		}
+		return secondMaxHeight;
 	}
 
-	private void setNode(int value, RootedTreeNode node) {
-		rootedTreeNodes[value] = node;
+	private int sonCount(int vertex) {
+		return childOffsets[vertex + 1] - childOffsets[vertex];
 	}
 
 	private int getOrder() {
 		return order;
 	}
 
-	private RootedTreeNode getRootNode() {
-		return root;
+	private void setRoot(int value) {
+		this.root = value;
 	}
 
-	private void setRootNode(RootedTreeNode value) {
-		this.root = value;
+	public int getRoot() {
+		return root;
 	}
 
-	// RootedTreeNode accessors
+	public int getHeight(int vertex) {
+		return heights[vertex];
+	}
 
-	public int getRoot() { return getRootNode().getVertex(); }
+	public int getEccentricity(int vertex) {
+		return eccentricities[vertex];
+	}
 
-	public int getHeight(int vertex) {
-		return getNode(vertex).getHeight();
+	/**
+	 * Returns the centers of the tree, the vertices of minimum eccentricity.
+	 * A tree has one center, or two adjacent ones. The root is the first center.
+	 *
+	 * @return The one or two centers.
+	 */
+	public int[] getCenters() {
+		return centers.clone();
 	}
 
 	public int getDepth(int vertex) {
-		return getNode(vertex).getDepth();
+		return depths[vertex];
 	}
 
 	public int getSubtreeSize(int vertex) {
-		return getNode(vertex).getSize();
-	}
-
-	public int getCentroid() {
-		return getCentroidNode().getVertex();
+		return sizes[vertex];
 	}
 }
@@ -0,0 +1,200 @@
+package Utilities.TreeAnalyzers;
+
+import java.util.Arrays;
+
+/**
+ * Computes the statistics of trees given as parent arrays, in at most two passes over the tree.
+ * The tree is peeled from its leaves: a vertex is processed once all its sons have been,
+ * so the first pass accumulates heights, sizes, diameter and Wiener index bottom-up.
+ * The eccentricities need a second pass, top-down, along the peeling order read backward.
+ * Unlike {@link RootedTree}, no son list, no bfs and no rerooting are needed.
+ * The kernel keeps its arrays from one tree to the next, so it is bound to an order and is not thread-safe.
+ */
+public class TreeMetrics {
+
+	public static final int DIAMETER = 1;
+	public static final int WIENER_INDEX = 1 << 1;
+	public static final int DEGREES = 1 << 2;
+	public static final int ECCENTRICITY = 1 << 3;
+	public static final int ALL = DIAMETER | WIENER_INDEX | DEGREES | ECCENTRICITY;
+
+	private final int order;
+
+	// vertices in peeling order: every vertex comes after all its sons
+	private final int[] peelingOrder;
+	// number of neighbors not yet peeled, the root counting an extra fictive father
+	private final int[] remaining;
+	private final int[] sizes;
+	// the two longest downward paths from every vertex, and the son starting the longest one
+	private final int[] maxDownward;
+	private final int[] secondMaxDownward;
+	private final int[] highestSon;
+	// longest path leaving every vertex through its father
+	private final int[] upward;
+	private final int[] degreeCounts;
+
+	private int maxDegree;
+	private int diameter;
+	private long wienerIndex;
+	private long eccentricitySum;
+	private int radius;
+
+	public TreeMetrics(int order) {
+		this.order = order;
+		this.peelingOrder = new int[order];
+		this.remaining = new int[order];
+		this.sizes = new int[order];
+		this.maxDownward = new int[order];
+		this.secondMaxDownward = new int[order];
+		this.highestSon = new int[order];
+		this.upward = new int[order];
+		this.degreeCounts = new int[order + 1];
+	}
+
+	/**
+	 * Computes the requested statistics of a tree, replacing the ones of the previous tree.
+	 *
+	 * @param parents the parent of every vertex, -1 for the root, of length the order of the kernel.
+	 * @param metrics the union of the flags of the requested statistics, among
+	 *                DIAMETER, WIENER_INDEX, DEGREES and ECCENTRICITY.
+	 */
+	public void analyze(int[] parents, int metrics) {
+		countNeighbors(parents);
+		peel(parents, metrics);
+		if ((metrics & ECCENTRICITY) != 0) computeEccentricities(parents);
+	}
+
+	/**
+	 * Resets the arrays of every vertex and counts its neighbors.
+	 * Every vertex starts with one neighbor, its father or the fictive father of the root.
+	 *
+	 * @param parents the parent of every vertex, -1 for the root.
+	 */
+	private void countNeighbors(int[] parents) {
+		for (int vertex = 0; vertex < order; vertex++) {
+			remaining[vertex] = 1;
+			sizes[vertex] = 1;
+			maxDownward[vertex] = 0;
+			secondMaxDownward[vertex] = 0;
+			highestSon[vertex] = -1;
+		}
+		for (int vertex = 0; vertex < order; vertex++) {
+			if (parents[vertex] >= 0) remaining[parents[vertex]]++;
+		}
+	}
+
+	/**
+	 * Processes the vertices from the leaves up: when a vertex is taken, its subtree is complete
+	 * and it is added to its father, which is queued once its last son has been processed.
+	 * The degree of every vertex is counted while the leaves are queued, before any neighbor is peeled.
+	 *
+	 * @param parents the parent of every vertex, -1 for the root.
+	 * @param metrics the requested statistics.
+	 */
+	private void peel(int[] parents, int metrics) {
+		boolean degrees = (metrics & DEGREES) != 0;
+		boolean wiener = (metrics & WIENER_INDEX) != 0;
+		boolean heights = (metrics & (DIAMETER | ECCENTRICITY)) != 0;
+		if (degrees) {
+			// only the counts up to the maximum degree of the previous tree can be set
+			Arrays.fill(degreeCounts, 0, maxDegree + 1, 0);
+			maxDegree = 0;
+		}
+		diameter = 0;
+		wienerIndex = 0;
+
+		int tail = 0;
+		for (int vertex = 0; vertex < order; vertex++) {
+			if (remaining[vertex] == 1) peelingOrder[tail++] = vertex;
+			if (degrees) {
+				int degree = remaining[vertex] - (parents[vertex] < 0 ? 1 : 0);
+				degreeCounts[degree]++;
+				maxDegree = Math.max(maxDegree, degree);
+			}
+		}
+
+		for (int head = 0; head < tail; head++) {
+			int vertex = peelingOrder[head];
+			int father = parents[vertex];
+			if (heights) diameter = Math.max(diameter, maxDownward[vertex] + secondMaxDownward[vertex]);
+			if (father < 0) continue;
+
+			if (wiener) {
+				wienerIndex += (long) sizes[vertex] * (order - sizes[vertex]);
+				sizes[father] += sizes[vertex];
+			}
+			if (heights) {
+				int downward = maxDownward[vertex] + 1;
+				if (downward > maxDownward[father]) {
+					secondMaxDownward[father] = maxDownward[father];
+					maxDownward[father] = downward;
+					highestSon[father] = vertex;
+				} else if (downward > secondMaxDownward[father]) {
+					secondMaxDownward[father] = downward;
+				}
+			}
+			if (--remaining[father] == 1) peelingOrder[tail++] = father;
+		}
+	}
+
+	/**
+	 * Computes the eccentricity of every vertex, fathers first.
+	 * The longest path leaving a vertex through its father goes on through the father of the father,
+	 * or down the highest son of the father, or its second highest if the vertex is the highest one.
+	 *
+	 * @param parents the parent of every vertex, -1 for the root.
+	 */
+	private void computeEccentricities(int[] parents) {
+		eccentricitySum = 0;
+		radius = order;
+		for (int index = order - 1; index >= 0; index--) {
+			int vertex = peelingOrder[index];
+			int father = parents[vertex];
+			if (father < 0) {
+				upward[vertex] = 0;
+			} else {
+				int sideways = highestSon[father] == vertex ? secondMaxDownward[father] : maxDownward[father];
+				upward[vertex] = 1 + Math.max(upward[father], sideways);
+			}
+			int eccentricity = Math.max(upward[vertex], maxDownward[vertex]);
+			eccentricitySum += eccentricity;
+			radius = Math.min(radius, eccentricity);
+		}
+	}
+
+	/**
+	 * Returns the number of vertices of every degree in [0, maxDegree], as computed with the DEGREES flag.
+	 *
+	 * @param maxDegree The maximum degree to consider for the distribution.
+	 * @return An array where the index represents the degree, and the value at each index
+	 *         is the count of vertices with that degree. The array is of size min(maxDegree, order - 1) + 1.
+	 */
+	public int[] getDegreeDistribution(int maxDegree) {
+		return Arrays.copyOf(degreeCounts, Math.min(maxDegree, order - 1) + 1);
+	}
+
+	/**
+	 * Returns the average eccentricity of the vertices, as computed with the ECCENTRICITY flag.
+	 *
+	 * @return The average eccentricity of the tree.
+	 */
+	public double getAverageEccentricity() {
+		return (double) eccentricitySum / (double) order;
+	}
+
+	public int getDiameter() {
+		return diameter;
+	}
+
+	public long getWienerIndex() {
+		return wienerIndex;
+	}
+
+	public int getRadius() {
+		return radius;
+	}
+
+	public int getOrder() {
+		return order;
+	}
+}